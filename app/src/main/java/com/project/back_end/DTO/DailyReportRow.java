@@ -0,0 +1,14 @@
+package com.project.back_end.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * One appointment in the daily report
+ * @param doctorName the doctor's name
+ * @param appointmentTime the appointment start time
+ * @param status 0 = scheduled, 1 = completed
+ * @param patientName the patient's name
+ * @param patientPhone the patient's phone number
+ */
+public record DailyReportRow(String doctorName, LocalDateTime appointmentTime, int status,
+                             String patientName, String patientPhone) {}
@@ -0,0 +1,26 @@
+package com.project.back_end.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread, so they can be attributed
+ * to the request being served. Registered with Hibernate by MetricsConfig.
+ */
+public class HibernateStatementCounter implements StatementInspector {
+
+    // Only ever grows; callers take the difference between two reads
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return the number of statements prepared on the current thread so far
+     */
+    public static long current() {
+        return STATEMENTS.get()[0];
+    }
+}
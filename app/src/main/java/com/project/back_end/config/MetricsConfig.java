@@ -0,0 +1,17 @@
+package com.project.back_end.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Metrics the actuator doesn't record on its own; HTTP, Hikari and Mongo command timers are auto-configured
+@Configuration
+public class MetricsConfig {
+
+    // Count the statements Hibernate prepares, for per-request statement metrics
+    @Bean
+    public HibernatePropertiesCustomizer statementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new HibernateStatementCounter());
+    }
+}
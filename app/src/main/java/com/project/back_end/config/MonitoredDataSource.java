@@ -0,0 +1,100 @@
+package com.project.back_end.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Data source wrapper that reports every executed statement to SqlStatementTracker
+ * and logs the ones slower than a threshold along with the repository method that issued them.
+ * A JDBC batch counts as one statement, since it is one round trip.
+ */
+class MonitoredDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitoredDataSource.class);
+
+    private final long slowQueryNanos;
+
+    MonitoredDataSource(DataSource target, Duration slowQueryThreshold) {
+        super(target);
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitor(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitor(super.getConnection(username, password));
+    }
+
+    // The pool is owned by the wrapped data source; close it along with this bean
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection monitor(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof CallableStatement statement) {
+                    return monitor(statement, CallableStatement.class, (String) args[0]);
+                } else if (result instanceof PreparedStatement statement) {
+                    return monitor(statement, PreparedStatement.class, (String) args[0]);
+                } else if (result instanceof Statement statement) {
+                    return monitor(statement, Statement.class, null);
+                }
+                return result;
+            });
+    }
+
+    private Statement monitor(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                if (!method.getName().startsWith("execute")) {
+                    return invoke(statement, method, args);
+                }
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                           : preparedSql != null ? preparedSql : "(statement batch)";
+                long start = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    record(sql, System.nanoTime() - start);
+                }
+            });
+    }
+
+    private void record(String sql, long nanos) {
+        SqlStatementTracker.record(sql);
+        if (nanos >= slowQueryNanos) {
+            logger.warn("Slow SQL ({} ms) from {}: {}", nanos / 1_000_000, SqlStatementTracker.origin(), sql);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.back_end.config;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.Set;
+
+/**
+ * Leaves out the reactive Mongo client, template and repository scan unless prescription.reactive.enabled=true.
+ * The reactive starter is always on the classpath, so without this a second Mongo client (with its own
+ * connection pool) would start next to the blocking one even with the reactive endpoints switched off.
+ * Registered in META-INF/spring.factories; unlike spring.autoconfigure.exclude it can depend on the flag.
+ */
+public class ReactiveMongoAutoConfigurationFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+
+    private static final Set<String> REACTIVE_MONGO = Set.of(
+            "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration");
+
+    private boolean reactiveEnabled;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.reactiveEnabled = environment.getProperty("prescription.reactive.enabled", Boolean.class, false);
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            String candidate = autoConfigurationClasses[i];
+            // Null entries are candidates already removed by another filter
+            matches[i] = reactiveEnabled || candidate == null || !REACTIVE_MONGO.contains(candidate);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.back_end.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many SQL statements Hibernate prepared for each request, per endpoint,
+ * as the hibernate.statements.per.request distribution summary.
+ * Counted by HibernateStatementCounter, which is cheap enough for production; JdbcTemplate statements are
+ * left out, so counts can differ from the JDBC-level dev monitor (SqlMonitorConfig).
+ * Asynchronous requests (streamed or reactive bodies) only count the statements
+ * run before the handler returned.
+ */
+@Component
+public class RequestStatementMetrics implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RequestStatementMetrics.class.getName() + ".start";
+
+    private final MeterRegistry registry;
+
+    public RequestStatementMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        // The async dispatch runs on another thread; its statements can't be told apart
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(START_ATTRIBUTE, HibernateStatementCounter.current());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        record(request);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        record(request);
+    }
+
+    private void record(HttpServletRequest request) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("hibernate.statements.per.request")
+            .description("SQL statements prepared by Hibernate while handling a request")
+            .tag("method", request.getMethod())
+            .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+            .register(registry)
+            .record(HibernateStatementCounter.current() - (Long) start);
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.back_end.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled housekeeping jobs (e.g. purging past days from in-memory calendars)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,66 @@
+package com.project.back_end.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Times every public method of the @Service classes as the service.method timer,
+ * tagged with the class, method and the exception thrown (or "none").
+ * Reactive results are timed until they complete, fail or are cancelled rather than until they are returned,
+ * and tagged with that final signal (onComplete, onError or cancel; "none" for other results).
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * com.project.back_end.services..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(registry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            sample.stop(timer(className, methodName, "none", ex));
+            throw ex;
+        }
+        // doFinally also runs on cancellation; the error is only known from the onError signal
+        if (result instanceof Mono<?> mono) {
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            return mono.doOnError(error::set)
+                .doFinally(signal -> sample.stop(timer(className, methodName, signal.toString(), error.get())));
+        }
+        if (result instanceof Flux<?> flux) {
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            return flux.doOnError(error::set)
+                .doFinally(signal -> sample.stop(timer(className, methodName, signal.toString(), error.get())));
+        }
+        sample.stop(timer(className, methodName, "none", null));
+        return result;
+    }
+
+    private Timer timer(String className, String methodName, String signal, Throwable ex) {
+        return Timer.builder("service.method")
+            .description("Time spent in service methods")
+            .tag("class", className)
+            .tag("method", methodName)
+            .tag("signal", signal)
+            .tag("exception", ex == null ? "none" : ex.getClass().getSimpleName())
+            .register(registry);
+    }
+}
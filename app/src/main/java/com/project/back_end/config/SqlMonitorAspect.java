@@ -0,0 +1,61 @@
+package com.project.back_end.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Attributes SQL statements to the repository method that issued them, and counts the statements
+ * of every @Transactional service method, warning when one goes over the statement budget.
+ */
+@Aspect
+class SqlMonitorAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMonitorAspect.class);
+
+    private final int statementBudget;
+
+    SqlMonitorAspect(int statementBudget) {
+        this.statementBudget = statementBudget;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object trackOrigin(ProceedingJoinPoint joinPoint) throws Throwable {
+        SqlStatementTracker.enter(repositoryName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            SqlStatementTracker.exit();
+        }
+    }
+
+    @Around("execution(* com.project.back_end.services..*(..)) && " +
+            "(@annotation(org.springframework.transaction.annotation.Transactional) || " +
+            "@within(org.springframework.transaction.annotation.Transactional))")
+    public Object countTransaction(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.open()) {
+            try {
+                return joinPoint.proceed();
+            } finally {
+                if (scope.count() > statementBudget) {
+                    logger.warn("{} ran over the budget of {} SQL statements: {}", name, statementBudget, scope.summary());
+                } else {
+                    logger.debug("{} ran {} SQL statements", name, scope.count());
+                }
+            }
+        }
+    }
+
+    // Repositories are proxies; name them after the application interface they implement
+    private static String repositoryName(Object repository) {
+        for (Class<?> type : repository.getClass().getInterfaces()) {
+            if (type.getPackageName().startsWith("com.project.back_end")) {
+                return type.getSimpleName();
+            }
+        }
+        return repository.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.back_end.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Development and test aid for spotting N+1 loads and slow queries, enabled with sql.monitor.enabled=true
+ * (e.g. through the dev profile). Every JDBC statement is counted per HTTP request and per @Transactional
+ * service method; either going over sql.monitor.statement-budget is logged with its most repeated statement,
+ * and statements slower than sql.monitor.slow-query-ms are logged with the repository method that issued them.
+ * Tests can assert on the counts through SqlStatementTracker scopes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.monitor.enabled", havingValue = "true")
+@EnableAspectJAutoProxy
+public class SqlMonitorConfig {
+
+    // Static, so the data source is wrapped before anything uses it; too early for @Value placeholders
+    @Bean
+    public static BeanPostProcessor monitoredDataSource(Environment environment) {
+        long slowQueryMillis = environment.getProperty("sql.monitor.slow-query-ms", Long.class, 200L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof MonitoredDataSource)) {
+                    return new MonitoredDataSource(dataSource, Duration.ofMillis(slowQueryMillis));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    SqlMonitorAspect sqlMonitorAspect(@Value("${sql.monitor.statement-budget:10}") int statementBudget) {
+        return new SqlMonitorAspect(statementBudget);
+    }
+
+    @Bean
+    SqlStatementBudgetFilter sqlStatementBudgetFilter(@Value("${sql.monitor.statement-budget:10}") int statementBudget) {
+        return new SqlStatementBudgetFilter(statementBudget);
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.back_end.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements run while handling each request and warns when a request
+ * goes over the statement budget, naming the endpoint and the most repeated statement.
+ */
+class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final int statementBudget;
+
+    SqlStatementBudgetFilter(int statementBudget) {
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                if (scope.count() > statementBudget) {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    logger.warn("{} {} ran over the budget of {} SQL statements: {}", request.getMethod(),
+                            pattern != null ? pattern : request.getRequestURI(), statementBudget, scope.summary());
+                }
+            }
+        }
+    }
+}
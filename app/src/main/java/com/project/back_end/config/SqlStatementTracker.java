@@ -0,0 +1,126 @@
+package com.project.back_end.config;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-thread record of the SQL statements run through the monitored data source (see SqlMonitorConfig).
+ * A Scope is opened around a unit of work (a request, a transactional method, a test) and counts every
+ * statement run on the thread until it is closed; scopes nest, and a statement counts towards each open scope.
+ * Statements are attributed to the repository method that issued them, when one is known.
+ */
+public final class SqlStatementTracker {
+
+    // Statements kept per scope for reports; the count stays exact beyond this
+    private static final int KEPT_STATEMENTS = 200;
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Deque<String>> ORIGINS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SqlStatementTracker() {}
+
+    /**
+     * Start counting the statements run on the current thread
+     * @return the scope; close it when the unit of work ends
+     */
+    public static Scope open() {
+        Scope scope = new Scope();
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    /**
+     * @return the repository method running on the current thread, or "unknown"
+     */
+    public static String origin() {
+        String origin = ORIGINS.get().peek();
+        return origin != null ? origin : "unknown";
+    }
+
+    static void enter(String origin) {
+        ORIGINS.get().push(origin);
+    }
+
+    static void exit() {
+        ORIGINS.get().pop();
+    }
+
+    static void record(String sql) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return;
+        }
+        Statement statement = new Statement(sql, origin());
+        for (Scope scope : scopes) {
+            scope.add(statement);
+        }
+    }
+
+    /**
+     * One SQL statement and the repository method that issued it
+     * @param sql the SQL, with parameter placeholders
+     * @param origin e.g. "DoctorRepository.findById", or "unknown"
+     */
+    public record Statement(String sql, String origin) {}
+
+    /**
+     * Statements counted since the scope was opened
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private int count;
+        private final List<Statement> statements = new ArrayList<>();
+
+        private Scope() {}
+
+        private void add(Statement statement) {
+            count++;
+            if (statements.size() < KEPT_STATEMENTS) {
+                statements.add(statement);
+            }
+        }
+
+        /**
+         * @return the number of statements run so far
+         */
+        public int count() {
+            return count;
+        }
+
+        /**
+         * @return the statements run so far, in order (the first 200)
+         */
+        public List<Statement> statements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        /**
+         * Describe the statements for a log line; the most repeated one usually points at an N+1 load
+         * @return e.g. "12 statements, 10 x from DoctorRepository.findById: select ..."
+         */
+        public String summary() {
+            Map<Statement, Integer> repeats = new HashMap<>();
+            Statement top = null;
+            for (Statement statement : statements) {
+                int times = repeats.merge(statement, 1, Integer::sum);
+                if (top == null || times > repeats.get(top)) {
+                    top = statement;
+                }
+            }
+            if (top == null) {
+                return count + " statements";
+            }
+            return count + " statements, " + repeats.get(top) + " x from " + top.origin() + ": " + top.sql();
+        }
+
+        @Override
+        public void close() {
+            SCOPES.get().remove(this);
+        }
+    }
+}
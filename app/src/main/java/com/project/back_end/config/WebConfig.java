@@ -5,11 +5,18 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull; 
 
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final RequestStatementMetrics requestStatementMetrics;
+
+    public WebConfig(RequestStatementMetrics requestStatementMetrics) {
+        this.requestStatementMetrics = requestStatementMetrics;
+    }
+
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
         // Allow CORS for all endpoints
@@ -18,4 +25,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE")  // Specify allowed methods
                 .allowedHeaders("*");  // You can restrict headers if needed
     }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        // Statement counts per endpoint
+        registry.addInterceptor(requestStatementMetrics);
+    }
 }
@@ -3,6 +3,7 @@ package com.project.back_end.controllers;
 
 import com.project.back_end.models.Appointment;
 import com.project.back_end.services.AppointmentService;
+import com.project.back_end.services.TokenService;
 import com.project.back_end.services.ValidationService;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
@@ -16,10 +17,13 @@ public class AppointmentController {
 
     private final AppointmentService appointmentService;
     private final ValidationService validationService;
+    private final TokenService tokenService;
 
-    public AppointmentController(AppointmentService appointmentService, ValidationService validationService) {
+    public AppointmentController(AppointmentService appointmentService, ValidationService validationService,
+                                 TokenService tokenService) {
         this.appointmentService = appointmentService;
         this.validationService = validationService;
+        this.tokenService = tokenService;
     }
 
     // GET: Fetch appointments by date and patient name
@@ -32,6 +36,34 @@ public class AppointmentController {
         return ResponseEntity.ok(appointments);
     }
 
+    // GET: Get a doctor's appointments, newest first, one page at a time (pass nextCursor back as cursor)
+    @GetMapping("/doctor/{doctorId}/{token}")
+    public ResponseEntity<?> getDoctorAppointments(@PathVariable Long doctorId, @PathVariable String token,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size) {
+        if (!validationService.validateToken(token, "doctor")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
+        }
+        if (!isTokenOwner(token, doctorId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only view your own appointments.");
+        }
+        return appointmentService.getDoctorAppointments(doctorId, cursor, size);
+    }
+
+    // GET: Suggest a doctor's patients as a partial name is typed into the dashboard filter
+    @GetMapping("/doctor/{doctorId}/patients/{prefix}/{token}")
+    public ResponseEntity<?> suggestPatients(@PathVariable Long doctorId, @PathVariable String prefix,
+                                             @PathVariable String token,
+                                             @RequestParam(defaultValue = "10") int limit) {
+        if (!validationService.validateToken(token, "doctor")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
+        }
+        if (!isTokenOwner(token, doctorId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only search your own patients.");
+        }
+        return appointmentService.getPatientSuggestions(doctorId, prefix, limit);
+    }
+
     // POST: Book a new appointment
     @PostMapping("/book/{token}")
     public ResponseEntity<?> bookAppointment(@Valid @RequestBody Appointment appointment, @PathVariable String token) {
@@ -48,6 +80,15 @@ public class AppointmentController {
         }
     }
 
+    // POST: Book several appointments at once (front desk and partner imports)
+    @PostMapping("/book/batch/{token}")
+    public ResponseEntity<?> bookAppointments(@RequestBody List<Appointment> appointments, @PathVariable String token) {
+        if (!validationService.validateToken(token, "admin")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
+        }
+        return appointmentService.bookAppointments(appointments);
+    }
+
     // PUT: Update an existing appointment
     @PutMapping("/update/{token}")
     public ResponseEntity<?> updateAppointment(@Valid @RequestBody Appointment appointment, @PathVariable String token) {
@@ -66,6 +107,12 @@ public class AppointmentController {
         return appointmentService.cancelAppointment(appointmentId);
     }
 
+    // The caller's user ID is a claim of the verified token
+    private boolean isTokenOwner(String token, Long userId) {
+        TokenService.TokenClaims claims = tokenService.getClaims(token);
+        return claims != null && userId.equals(claims.userId());
+    }
+
 
 
 // 1. Set Up the Controller Class:
@@ -2,7 +2,9 @@ package com.project.back_end.controllers;
 
 import com.project.back_end.models.Patient;
 import com.project.back_end.models.Login;
+import com.project.back_end.services.AppointmentService;
 import com.project.back_end.services.PatientService;
+import com.project.back_end.services.TokenService;
 import com.project.back_end.services.ValidationService;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
@@ -14,10 +16,15 @@ public class PatientController {
 
     private final PatientService patientService;
     private final ValidationService validationService;
+    private final AppointmentService appointmentService;
+    private final TokenService tokenService;
 
-    public PatientController(PatientService patientService, ValidationService validationService) {
+    public PatientController(PatientService patientService, ValidationService validationService,
+                             AppointmentService appointmentService, TokenService tokenService) {
         this.patientService = patientService;
         this.validationService = validationService;
+        this.appointmentService = appointmentService;
+        this.tokenService = tokenService;
     }
 
     // GET: Retrieve patient details using token
@@ -44,13 +51,18 @@ public class PatientController {
         return validationService.validatePatientLogin(loginDto);
     }
 
-    // GET: Get patient appointment details
+    // GET: Get patient appointment details, one page at a time (pass nextCursor back as cursor)
     @GetMapping("/appointments/{patientId}/{token}/{role}")
-    public ResponseEntity<?> getPatientAppointment(@PathVariable Long patientId, @PathVariable String token, @PathVariable String role) {
+    public ResponseEntity<?> getPatientAppointment(@PathVariable Long patientId, @PathVariable String token, @PathVariable String role,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size) {
         if (!validationService.validateToken(token, role)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
-        return patientService.getPatientAppointments(patientId);
+        if (isAnotherPatient(token, patientId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only view your own appointments.");
+        }
+        return appointmentService.getPatientAppointments(patientId, cursor, size);
     }
 
     // GET: Filter patient appointments
@@ -62,6 +74,12 @@ public class PatientController {
         return validationService.filterPatient(condition, name, token);
     }
 
+    // A patient token may only read its own patient's appointments
+    private boolean isAnotherPatient(String token, Long patientId) {
+        TokenService.TokenClaims claims = tokenService.getClaims(token);
+        return claims != null && "patient".equals(claims.role()) && !patientId.equals(claims.userId());
+    }
+
 }
 package com.project.back_end.controllers;
 
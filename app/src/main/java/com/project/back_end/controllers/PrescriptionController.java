@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import jakarta.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("${api.path}prescription")
@@ -47,4 +48,15 @@ public class PrescriptionController {
         // Delegate to PrescriptionService
         return prescriptionService.getPrescription(appointmentId);
     }
+
+    // POST: Retrieve the prescriptions of several appointments (e.g. a doctor's day) in one request
+    @PostMapping("/get/batch/{token}")
+    public ResponseEntity<?> getPrescriptions(@RequestBody List<Long> appointmentIds, @PathVariable String token) {
+        // Validate doctor token
+        if (!validationService.validateToken(token, "doctor")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
+        }
+        // Delegate to PrescriptionService
+        return prescriptionService.getPrescriptions(appointmentIds);
+    }
 }
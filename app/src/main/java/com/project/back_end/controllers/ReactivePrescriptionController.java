@@ -0,0 +1,61 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.services.ReactivePrescriptionService;
+import com.project.back_end.services.ValidationService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
+
+/**
+ * Non-blocking prescription endpoints, mirroring PrescriptionController under /reactive.
+ * Requests are completed asynchronously, so no servlet thread waits on Mongo.
+ */
+@RestController
+@RequestMapping("${api.path}reactive/prescription")
+@ConditionalOnProperty(name = "prescription.reactive.enabled", havingValue = "true")
+public class ReactivePrescriptionController {
+
+    private final ReactivePrescriptionService prescriptionService;
+    private final ValidationService validationService;
+
+    public ReactivePrescriptionController(ReactivePrescriptionService prescriptionService, ValidationService validationService) {
+        this.prescriptionService = prescriptionService;
+        this.validationService = validationService;
+    }
+
+    // POST: Save a new prescription for an appointment
+    @PostMapping("/save/{token}")
+    public Mono<ResponseEntity<?>> savePrescription(@Valid @RequestBody Prescription prescription, @PathVariable String token) {
+        // Token checks are served from memory, so they don't block
+        if (!validationService.validateToken(token, "doctor")) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token."));
+        }
+        return prescriptionService.savePrescription(prescription);
+    }
+
+    // GET: Retrieve prescription by appointment ID
+    @GetMapping("/get/{appointmentId}/{token}")
+    public Mono<ResponseEntity<?>> getPrescription(@PathVariable Long appointmentId, @PathVariable String token) {
+        if (!validationService.validateToken(token, "doctor")) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token."));
+        }
+        return prescriptionService.getPrescription(appointmentId);
+    }
+
+    // POST: Retrieve the prescriptions of several appointments, streamed as newline-delimited JSON
+    @PostMapping(value = "/get/batch/{token}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Prescription> getPrescriptions(@RequestBody List<Long> appointmentIds, @PathVariable String token) {
+        if (!validationService.validateToken(token, "doctor")) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired token.");
+        }
+        return prescriptionService.getPrescriptions(appointmentIds);
+    }
+}
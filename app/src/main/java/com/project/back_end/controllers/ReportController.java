@@ -0,0 +1,42 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.services.ReportService;
+import com.project.back_end.services.ValidationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("${api.path}report")
+public class ReportController {
+
+    private final ReportService reportService;
+    private final ValidationService validationService;
+
+    public ReportController(ReportService reportService, ValidationService validationService) {
+        this.reportService = reportService;
+        this.validationService = validationService;
+    }
+
+    // GET: Appointments of a day grouped by doctor, streamed as CSV or JSON
+    @GetMapping("/daily/{date}/{token}")
+    public ResponseEntity<?> getDailyAppointmentReport(@PathVariable String date,
+                                                       @PathVariable String token,
+                                                       @RequestParam(defaultValue = "json") String format) {
+        if (!validationService.validateToken(token, "admin")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
+        }
+        return reportService.getDailyAppointmentReport(date, format);
+    }
+
+    // GET: Doctors with the most patients in a month (yyyy-MM) or a year (yyyy)
+    @GetMapping("/top-doctors/{period}/{token}")
+    public ResponseEntity<?> getTopDoctorsByPatients(@PathVariable String period,
+                                                     @PathVariable String token,
+                                                     @RequestParam(defaultValue = "1") int limit) {
+        if (!validationService.validateToken(token, "admin")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
+        }
+        return reportService.getTopDoctorsByPatients(period, limit);
+    }
+}
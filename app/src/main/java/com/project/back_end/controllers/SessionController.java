@@ -0,0 +1,24 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.services.ValidationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("${api.path}session")
+public class SessionController {
+
+    private final ValidationService validationService;
+
+    public SessionController(ValidationService validationService) {
+        this.validationService = validationService;
+    }
+
+    // POST: Log out any user (admin, doctor or patient) by revoking their token
+    @PostMapping("/logout/{token}")
+    public ResponseEntity<Map<String, Object>> logout(@PathVariable String token) {
+        return validationService.logout(token);
+    }
+}
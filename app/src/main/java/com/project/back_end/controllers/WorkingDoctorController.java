@@ -1,5 +1,7 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.models.Doctor;
+import com.project.back_end.services.DoctorSearchIndex;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import java.util.*;
@@ -8,6 +10,12 @@ import java.util.*;
 @RequestMapping("/api/doctor")
 public class WorkingDoctorController {
 
+    private final DoctorSearchIndex doctorSearchIndex;
+
+    public WorkingDoctorController(DoctorSearchIndex doctorSearchIndex) {
+        this.doctorSearchIndex = doctorSearchIndex;
+    }
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllDoctors() {
         Map<String, Object> response = new HashMap<>();
@@ -33,15 +41,8 @@ public class WorkingDoctorController {
             @PathVariable String specialty) {
         
         Map<String, Object> response = new HashMap<>();
-        List<Map<String, Object>> filteredDoctors = new ArrayList<>();
-        
-        // Sample filtered results based on parameters
-        if ("Cardiology".equalsIgnoreCase(specialty)) {
-            filteredDoctors.add(Map.of("id", 1, "name", "Dr. Smith", "specialty", "Cardiology", "email", "smith@hospital.com", "availableTime", time));
-        }
-        if ("Pediatrics".equalsIgnoreCase(specialty)) {
-            filteredDoctors.add(Map.of("id", 2, "name", "Dr. Johnson", "specialty", "Pediatrics", "email", "johnson@hospital.com", "availableTime", time));
-        }
+        // Answered from the in-memory index; the frontend sends "null" for an unused filter
+        List<Doctor> filteredDoctors = doctorSearchIndex.search(filterValue(name), filterValue(specialty), filterValue(time));
         
         response.put("success", true);
         response.put("message", "Filtered doctors retrieved successfully");
@@ -98,4 +99,8 @@ public class WorkingDoctorController {
         
         return ResponseEntity.ok(response);
     }
+
+    private static String filterValue(String value) {
+        return "null".equalsIgnoreCase(value) ? null : value;
+    }
 }
@@ -1,13 +1,19 @@
+package com.project.back_end.models;
+
+import com.project.back_end.services.UserDirectoryListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity  // Marks this class as a JPA entity
+@EntityListeners(UserDirectoryListener.class) // Keeps the in-memory user directory in sync
+@Table(indexes = @Index(name = "idx_admin_username", columnList = "username")) // Login lookups
 public class Admin {
 
     // 1. Unique identifier for the Admin entity
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admin_seq")
+    @SequenceGenerator(name = "admin_seq", sequenceName = "admin_seq", allocationSize = 50)
     private Long id;
 
     // 2. Admin username for login
@@ -9,11 +9,23 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
+@Table(uniqueConstraints = {
+    // A doctor can't hold two appointments starting at the same time, even across app instances
+    @UniqueConstraint(name = "uk_appointment_doctor_time", columnNames = {"doctor_id", "appointment_time"})
+}, indexes = {
+    // Keyset pagination of a patient's history on (appointment_time, id)
+    @Index(name = "idx_appointment_patient_time_id", columnList = "patient_id, appointment_time, id"),
+    // A patient's appointments with a given status, in time order
+    @Index(name = "idx_appointment_patient_status_time", columnList = "patient_id, status, appointment_time"),
+    // Time range scans across all doctors (e.g. the daily report)
+    @Index(name = "idx_appointment_time", columnList = "appointment_time")
+})
 public class Appointment {
 
     // 1. Unique appointment ID
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     private Long id;
 
     // 2. Doctor reference
@@ -0,0 +1,60 @@
+package com.project.back_end.models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+@Entity  // A completed appointment moved out of the hot table by AppointmentArchiver; read-only
+@Table(name = "appointment_archive", indexes = {
+    // Keyset pagination of a doctor's or patient's history on (appointment_time, id)
+    @Index(name = "idx_appointment_archive_doctor_time_id", columnList = "doctor_id, appointment_time, id"),
+    @Index(name = "idx_appointment_archive_patient_time_id", columnList = "patient_id, appointment_time, id"),
+    // Time range scans across all doctors (e.g. the daily report)
+    @Index(name = "idx_appointment_archive_time", columnList = "appointment_time")
+})
+public class ArchivedAppointment {
+
+    // 1. The original appointment ID (prescriptions refer to it)
+    @Id
+    private Long id;
+
+    // 2. Doctor reference
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "doctor_id")
+    private Doctor doctor;
+
+    // 3. Patient reference
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "patient_id")
+    private Patient patient;
+
+    // 4. Appointment time
+    @NotNull
+    @Column(name = "appointment_time")
+    private LocalDateTime appointmentTime;
+
+    // 5. Appointment status: 1 = Completed
+    private int status;
+
+    // 6. When the appointment was archived
+    @NotNull
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // 7. No-argument constructor for JPA
+    public ArchivedAppointment() {}
+
+    // 8. Getters
+    public Long getId() { return id; }
+
+    public Doctor getDoctor() { return doctor; }
+
+    public Patient getPatient() { return patient; }
+
+    public LocalDateTime getAppointmentTime() { return appointmentTime; }
+
+    public int getStatus() { return status; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
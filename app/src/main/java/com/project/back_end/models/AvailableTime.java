@@ -0,0 +1,82 @@
+package com.project.back_end.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+@Entity  // One weekly time range in which a doctor is available
+@Table(indexes = {
+    // Schedule lookups for one doctor and day, in time order
+    @Index(name = "idx_available_time_doctor_day", columnList = "doctor_id, day_of_week, start_time"),
+    // Range filters across all doctors (e.g. AM/PM)
+    @Index(name = "idx_available_time_range", columnList = "start_time, end_time")
+})
+public class AvailableTime {
+
+    private static final DateTimeFormatter LABEL_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    // 1. Unique identifier
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "available_time_seq")
+    @SequenceGenerator(name = "available_time_seq", sequenceName = "available_time_seq", allocationSize = 50)
+    private Long id;
+
+    // 2. Owning doctor; not serialized to avoid a cycle with Doctor.availableTimes
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "doctor_id")
+    @JsonIgnore
+    private Doctor doctor;
+
+    // 3. Day of the week the range applies to
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", length = 9)
+    private DayOfWeek dayOfWeek;
+
+    // 4. Range start (inclusive)
+    @NotNull
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    // 5. Range end (exclusive)
+    @NotNull
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    // No-argument constructor for JPA
+    public AvailableTime() {}
+
+    // Parameterized constructor
+    public AvailableTime(DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // 6. Display label such as "09:00-10:00" (transient, not persisted)
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getLabel() {
+        return startTime.format(LABEL_FORMAT) + "-" + endTime.format(LABEL_FORMAT);
+    }
+
+    // 7. Getters and setters
+    public Long getId() { return id; }
+
+    public Doctor getDoctor() { return doctor; }
+    public void setDoctor(Doctor doctor) { this.doctor = doctor; }
+
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+}
@@ -1,16 +1,22 @@
 package com.project.back_end.models;
 
+import com.project.back_end.services.UserDirectoryListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.BatchSize;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity // Marks this class as a JPA entity
+@EntityListeners(UserDirectoryListener.class) // Keeps the in-memory user directory in sync
+@Table(indexes = @Index(name = "idx_doctor_email", columnList = "email")) // Login lookups
 public class Doctor {
 
     // 1. Unique identifier for the doctor
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctor_seq")
+    @SequenceGenerator(name = "doctor_seq", sequenceName = "doctor_seq", allocationSize = 50)
     private Long id;
 
     // 2. Doctor's name with length constraints
@@ -39,21 +45,23 @@ public class Doctor {
     @Pattern(regexp = "^[0-9]{10}$")
     private String phone;
 
-    // 7. Available time slots
-    @ElementCollection
-    private List<String> availableTimes;
+    // 7. Weekly available time ranges; loaded lazily, in batches across doctors
+    @OneToMany(mappedBy = "doctor", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("dayOfWeek ASC, startTime ASC")
+    @BatchSize(size = 50)
+    private List<AvailableTime> availableTimes = new ArrayList<>();
 
     // No-argument constructor for JPA
     public Doctor() {}
 
     // Optional parameterized constructor
-    public Doctor(String name, String specialty, String email, String password, String phone, List<String> availableTimes) {
+    public Doctor(String name, String specialty, String email, String password, String phone, List<AvailableTime> availableTimes) {
         this.name = name;
         this.specialty = specialty;
         this.email = email;
         this.password = password;
         this.phone = phone;
-        this.availableTimes = availableTimes;
+        setAvailableTimes(availableTimes);
     }
 
     // 8. Standard getters and setters
@@ -74,6 +82,16 @@ public class Doctor {
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
 
-    public List<String> getAvailableTimes() { return availableTimes; }
-    public void setAvailableTimes(List<String> availableTimes) { this.availableTimes = availableTimes; }
+    public List<AvailableTime> getAvailableTimes() { return availableTimes; }
+
+    // Replaces the schedule in place so orphan removal sees the change, and links each range to this doctor
+    public void setAvailableTimes(List<AvailableTime> availableTimes) {
+        this.availableTimes.clear();
+        if (availableTimes != null) {
+            for (AvailableTime availableTime : availableTimes) {
+                availableTime.setDoctor(this);
+                this.availableTimes.add(availableTime);
+            }
+        }
+    }
 }
\ No newline at end of file
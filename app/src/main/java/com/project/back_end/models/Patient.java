@@ -1,13 +1,32 @@
+package com.project.back_end.models;
+
+import com.project.back_end.services.UserDirectoryListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.text.Normalizer;
+import java.util.Locale;
+
 @Entity  // Marks the class as a JPA entity
+@EntityListeners(UserDirectoryListener.class) // Keeps the in-memory user directory in sync
+@Table(indexes = { // Login and registration duplicate lookups
+    @Index(name = "idx_patient_email", columnList = "email"),
+    @Index(name = "idx_patient_phone", columnList = "phone"),
+    // Normalized name key: the backfill's IS NULL lookup and prefix lookups seek it
+    @Index(name = "idx_patient_search_name", columnList = "search_name")
+})
 public class Patient {
 
+    // Qualified: the wildcard validation import brings its own @Pattern
+    private static final java.util.regex.Pattern COMBINING_MARKS = java.util.regex.Pattern.compile("\\p{M}+");
+    private static final java.util.regex.Pattern WHITESPACE = java.util.regex.Pattern.compile("\\s+");
+
     // 1. Unique identifier for each patient
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patient_seq")
+    @SequenceGenerator(name = "patient_seq", sequenceName = "patient_seq", allocationSize = 50)
     private Long id;
 
     // 2. Patient's full name
@@ -36,6 +55,11 @@ public class Patient {
     @Size(max = 255)
     private String address;
 
+    // 7. Search key derived from the name on every save (see searchKey); null until backfilled for older rows
+    @Column(name = "search_name", length = 100)
+    @JsonIgnore
+    private String searchName;
+
     // No-argument constructor for JPA
     public Patient() {}
 
@@ -48,7 +72,26 @@ public class Patient {
         this.address = address;
     }
 
-    // 7. Getters and setters
+    @PrePersist
+    @PreUpdate
+    public void updateSearchName() {
+        searchName = searchKey(name);
+    }
+
+    /**
+     * Normalize a name for searching: accents removed, lowercased, whitespace collapsed
+     * @param value a name or part of one
+     * @return the search key, empty for null
+     */
+    public static String searchKey(String value) {
+        if (value == null) {
+            return "";
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(folded.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    // 8. Getters and setters
     public Long getId() { return id; }
 
     public String getName() { return name; }
@@ -65,4 +108,6 @@ public class Patient {
 
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
+
+    public String getSearchName() { return searchName; }
 }
\ No newline at end of file
@@ -1,4 +1,7 @@
+package com.project.back_end.models;
+
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import jakarta.validation.constraints.*;
 
@@ -14,8 +17,9 @@ public class Prescription {
     @Size(min = 3, max = 100)
     private String patientName;
 
-    // 3. Associated appointment ID
+    // 3. Associated appointment ID; one prescription per appointment, and the lookup key
     @NotNull
+    @Indexed(unique = true)
     private Long appointmentId;
 
     // 4. Medication name with size constraint
@@ -1,11 +1,21 @@
 package com.project.back_end.repo;
 
-import com.project.back_end.model.Admin;
+import com.project.back_end.models.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, Long> {
 
     Admin findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Find the ID and username of every admin, without loading the entities
+     * @return rows of (id, username)
+     */
+    @Query("SELECT a.id, a.username FROM Admin a")
+    List<Object[]> findAllIdAndUsername();
+}
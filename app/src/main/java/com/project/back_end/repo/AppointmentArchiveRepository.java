@@ -0,0 +1,110 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.ArchivedAppointment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Completed appointments past the hot horizon (see AppointmentArchiver).
+ * History queries mirror the hot ones in AppointmentRepository so pages of both tables can be merged.
+ */
+@Repository
+public interface AppointmentArchiveRepository extends JpaRepository<ArchivedAppointment, Long> {
+
+    String ARCHIVE_VIEW = "SELECT new com.project.back_end.DTO.AppointmentDTO(" +
+            "a.id, a.doctor.id, a.doctor.name, a.patient.id, a.patient.name, a.patient.email, a.patient.phone, " +
+            "a.patient.address, a.appointmentTime, a.status) FROM ArchivedAppointment a ";
+
+    /**
+     * Copy appointments into the archive, keeping their IDs
+     * @param ids the appointment IDs
+     * @param archivedAt the archive time recorded on the rows
+     * @return the number of rows copied
+     */
+    @Modifying
+    @Query(value = "INSERT INTO appointment_archive (id, doctor_id, patient_id, appointment_time, status, archived_at) " +
+                   "SELECT id, doctor_id, patient_id, appointment_time, status, :archivedAt FROM appointment WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyFromAppointments(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Find the newest archived appointment time
+     */
+    @Query("SELECT MAX(a.appointmentTime) FROM ArchivedAppointment a")
+    LocalDateTime findLatestAppointmentTime();
+
+    /**
+     * Find the first page of a patient's archived appointments, newest first
+     */
+    @Query(ARCHIVE_VIEW +
+           "WHERE a.patient.id = :patientId ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findPatientHistory(@Param("patientId") Long patientId, Pageable limit);
+
+    /**
+     * Find the page of a patient's archived appointments that follows the row (time, id), newest first
+     */
+    @Query(ARCHIVE_VIEW +
+           "WHERE a.patient.id = :patientId " +
+           "AND (a.appointmentTime < :time OR (a.appointmentTime = :time AND a.id < :id)) " +
+           "ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findPatientHistoryAfter(@Param("patientId") Long patientId,
+                                              @Param("time") LocalDateTime time,
+                                              @Param("id") Long id,
+                                              Pageable limit);
+
+    /**
+     * Find all of a patient's archived appointments, newest first
+     */
+    @Query(ARCHIVE_VIEW +
+           "WHERE a.patient.id = :patientId ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findPatientAppointmentViews(@Param("patientId") Long patientId);
+
+    /**
+     * Find the first page of a doctor's archived appointments, newest first
+     */
+    @Query(ARCHIVE_VIEW +
+           "WHERE a.doctor.id = :doctorId ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findDoctorHistory(@Param("doctorId") Long doctorId, Pageable limit);
+
+    /**
+     * Find the page of a doctor's archived appointments that follows the row (time, id), newest first
+     */
+    @Query(ARCHIVE_VIEW +
+           "WHERE a.doctor.id = :doctorId " +
+           "AND (a.appointmentTime < :time OR (a.appointmentTime = :time AND a.id < :id)) " +
+           "ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findDoctorHistoryAfter(@Param("doctorId") Long doctorId,
+                                             @Param("time") LocalDateTime time,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+
+    /**
+     * Count archived appointments per doctor and calendar month, as (doctor id, year, month, appointments, completed)
+     */
+    @Query("SELECT a.doctor.id, YEAR(a.appointmentTime), MONTH(a.appointmentTime), COUNT(a), " +
+           "SUM(CASE WHEN a.status = 1 THEN 1 ELSE 0 END) FROM ArchivedAppointment a " +
+           "GROUP BY a.doctor.id, YEAR(a.appointmentTime), MONTH(a.appointmentTime)")
+    List<Object[]> countByDoctorAndMonth();
+
+    /**
+     * Count archived appointments per doctor and patient, as (doctor id, patient id, patient name, appointments)
+     */
+    @Query("SELECT a.doctor.id, a.patient.id, a.patient.name, COUNT(a) FROM ArchivedAppointment a " +
+           "GROUP BY a.doctor.id, a.patient.id, a.patient.name")
+    List<Object[]> countByDoctorAndPatient();
+
+    /**
+     * Check if any archived appointments exist for a specific doctor
+     */
+    @Query("SELECT COUNT(a) > 0 FROM ArchivedAppointment a WHERE a.doctor.id = :doctorId")
+    boolean existsByDoctorId(@Param("doctorId") Long doctorId);
+}
@@ -0,0 +1,60 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.DTO.DailyReportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Reporting queries over appointments. They run on plain JDBC with a fetch size so rows can be handed on
+ * as the database returns them instead of being collected first. Days are filtered as half-open ranges
+ * on appointment_time, which can use its index (unlike DATE(appointment_time) = ?), and only portable SQL
+ * is used so reports run the same on H2 and MySQL.
+ */
+@Repository
+public class AppointmentReportRepository {
+
+    // Replaces the MySQL-only GetDailyAppointmentReportByDoctor procedure; past days may be partly archived,
+    // and each branch reads its own appointment_time index
+    private static final String DAILY_REPORT_SQL =
+        "SELECT d.name, a.appointment_time, a.status, p.name, p.phone " +
+        "FROM (SELECT h.doctor_id, h.patient_id, h.appointment_time, h.status FROM appointment h " +
+        "      WHERE h.appointment_time >= ? AND h.appointment_time < ? " +
+        "      UNION ALL " +
+        "      SELECT c.doctor_id, c.patient_id, c.appointment_time, c.status FROM appointment_archive c " +
+        "      WHERE c.appointment_time >= ? AND c.appointment_time < ?) a " +
+        "JOIN doctor d ON a.doctor_id = d.id " +
+        "JOIN patient p ON a.patient_id = p.id " +
+        "ORDER BY d.name, d.id, a.appointment_time";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AppointmentReportRepository(JdbcTemplate jdbcTemplate,
+                                       @Value("${report.fetch-size:500}") int fetchSize) {
+        // A copy, so the fetch size only applies to report queries
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Pass every appointment of a day to a consumer, ordered by doctor name and appointment time
+     * @param date the day
+     * @param consumer receives the rows one at a time, while the query is still open
+     */
+    public void forEachDailyReportRow(LocalDate date, Consumer<DailyReportRow> consumer) {
+        jdbcTemplate.query(DAILY_REPORT_SQL,
+            resultSet -> {
+                consumer.accept(new DailyReportRow(resultSet.getString(1),
+                                                   resultSet.getTimestamp(2).toLocalDateTime(),
+                                                   resultSet.getInt(3),
+                                                   resultSet.getString(4),
+                                                   resultSet.getString(5)));
+            },
+            Timestamp.valueOf(date.atStartOfDay()), Timestamp.valueOf(date.plusDays(1).atStartOfDay()),
+            Timestamp.valueOf(date.atStartOfDay()), Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
+    }
+}
@@ -1,7 +1,11 @@
 package com.project.back_end.repo;
 
+import com.project.back_end.DTO.AppointmentDTO;
 import com.project.back_end.models.Appointment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,32 +14,46 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
     /**
-     * Find appointments for a specific doctor within a time range
+     * Select clause for list views: only the columns the dashboards render, no entity graph.
+     * Filter on a.doctor.id / a.patient.id: they are the appointment's own foreign-key columns,
+     * which lead the composite indexes (QueryPlanTest checks the plans).
      */
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor LEFT JOIN FETCH a.patient " +
-           "WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end " +
+    String APPOINTMENT_VIEW = "SELECT new com.project.back_end.DTO.AppointmentDTO(" +
+            "a.id, a.doctor.id, a.doctor.name, a.patient.id, a.patient.name, a.patient.email, a.patient.phone, " +
+            "a.patient.address, a.appointmentTime, a.status) FROM Appointment a ";
+
+    /**
+     * Find a doctor's appointments from start (inclusive) to end (exclusive), as list rows
+     */
+    @Query(APPOINTMENT_VIEW +
+           "WHERE a.doctor.id = :doctorId AND a.appointmentTime >= :start AND a.appointmentTime < :end " +
            "ORDER BY a.appointmentTime ASC")
-    List<Appointment> findByDoctorIdAndAppointmentTimeBetween(@Param("doctorId") Long doctorId, 
-                                                             @Param("start") LocalDateTime start, 
-                                                             @Param("end") LocalDateTime end);
+    List<AppointmentDTO> findDoctorAppointmentViews(@Param("doctorId") Long doctorId,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
 
     /**
-     * Find appointments for a specific doctor and patient name within a time range
+     * Find a doctor's appointments whose patient search key contains the given key (see Patient.searchKey),
+     * from start (inclusive) to end (exclusive), as list rows.
+     * The doctor/time index narrows the rows to one doctor's range; the key is then compared without
+     * functions on the column. Patients not backfilled yet fall back to their lowercased name.
      */
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor LEFT JOIN FETCH a.patient " +
-           "WHERE a.doctor.id = :doctorId AND LOWER(a.patient.name) LIKE LOWER(CONCAT('%', :patientName, '%')) " +
-           "AND a.appointmentTime BETWEEN :start AND :end " +
+    @Query(APPOINTMENT_VIEW +
+           "WHERE a.doctor.id = :doctorId " +
+           "AND (a.patient.searchName LIKE CONCAT('%', :searchKey, '%') " +
+           "OR (a.patient.searchName IS NULL AND LOWER(a.patient.name) LIKE CONCAT('%', :searchKey, '%'))) " +
+           "AND a.appointmentTime >= :start AND a.appointmentTime < :end " +
            "ORDER BY a.appointmentTime ASC")
-    List<Appointment> findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
-            @Param("doctorId") Long doctorId, 
-            @Param("patientName") String patientName, 
-            @Param("start") LocalDateTime start, 
-            @Param("end") LocalDateTime end);
+    List<AppointmentDTO> findDoctorAppointmentViewsByPatientName(@Param("doctorId") Long doctorId,
+                                                                 @Param("searchKey") String searchKey,
+                                                                 @Param("start") LocalDateTime start,
+                                                                 @Param("end") LocalDateTime end);
 
     /**
      * Delete all appointments for a specific doctor
@@ -48,21 +66,67 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     /**
      * Find all appointments for a specific patient ordered by appointment time
      */
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor LEFT JOIN FETCH a.patient " +
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.patient " +
            "WHERE a.patient.id = :patientId ORDER BY a.appointmentTime DESC")
     List<Appointment> findByPatientIdOrderByAppointmentTimeDesc(@Param("patientId") Long patientId);
 
     /**
      * Find all appointments for a specific doctor ordered by appointment time
      */
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor LEFT JOIN FETCH a.patient " +
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.patient " +
            "WHERE a.doctor.id = :doctorId ORDER BY a.appointmentTime DESC")
     List<Appointment> findByDoctorIdOrderByAppointmentTimeDesc(@Param("doctorId") Long doctorId);
 
+    /**
+     * Find the first page of a patient's appointments, newest first.
+     * Ordered on (appointmentTime, id) so later pages can seek past the last row.
+     */
+    @Query(APPOINTMENT_VIEW +
+           "WHERE a.patient.id = :patientId ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findPatientHistory(@Param("patientId") Long patientId, Pageable limit);
+
+    /**
+     * Find the page of a patient's appointments that follows the row (time, id), newest first
+     */
+    @Query(APPOINTMENT_VIEW +
+           "WHERE a.patient.id = :patientId " +
+           "AND (a.appointmentTime < :time OR (a.appointmentTime = :time AND a.id < :id)) " +
+           "ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findPatientHistoryAfter(@Param("patientId") Long patientId,
+                                              @Param("time") LocalDateTime time,
+                                              @Param("id") Long id,
+                                              Pageable limit);
+
+    /**
+     * Find the first page of a doctor's appointments, newest first
+     */
+    @Query(APPOINTMENT_VIEW +
+           "WHERE a.doctor.id = :doctorId ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findDoctorHistory(@Param("doctorId") Long doctorId, Pageable limit);
+
+    /**
+     * Find the page of a doctor's appointments that follows the row (time, id), newest first
+     */
+    @Query(APPOINTMENT_VIEW +
+           "WHERE a.doctor.id = :doctorId " +
+           "AND (a.appointmentTime < :time OR (a.appointmentTime = :time AND a.id < :id)) " +
+           "ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findDoctorHistoryAfter(@Param("doctorId") Long doctorId,
+                                             @Param("time") LocalDateTime time,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+
+    /**
+     * Find all of a patient's appointments as list rows, newest first (see PatientAppointmentCache)
+     */
+    @Query(APPOINTMENT_VIEW +
+           "WHERE a.patient.id = :patientId ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentDTO> findPatientAppointmentViews(@Param("patientId") Long patientId);
+
     /**
      * Find appointments for a specific patient with a given status
      */
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor LEFT JOIN FETCH a.patient " +
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.patient " +
            "WHERE a.patient.id = :patientId AND a.status = :status ORDER BY a.appointmentTime ASC")
     List<Appointment> findByPatient_IdAndStatusOrderByAppointmentTimeAsc(@Param("patientId") Long patientId, 
                                                                         @Param("status") int status);
@@ -70,7 +134,7 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     /**
      * Filter appointments by doctor name and patient ID
      */
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor LEFT JOIN FETCH a.patient " +
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.patient " +
            "WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) " +
            "AND a.patient.id = :patientId ORDER BY a.appointmentTime DESC")
     List<Appointment> filterByDoctorNameAndPatientId(@Param("doctorName") String doctorName, 
@@ -79,7 +143,7 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     /**
      * Filter appointments by doctor name, patient ID, and status
      */
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor LEFT JOIN FETCH a.patient " +
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.patient " +
            "WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :doctorName, '%')) " +
            "AND a.patient.id = :patientId AND a.status = :status ORDER BY a.appointmentTime DESC")
     List<Appointment> filterByDoctorNameAndPatientIdAndStatus(@Param("doctorName") String doctorName, 
@@ -97,9 +161,78 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     /**
      * Find all appointments by patient ID
      */
-    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.doctor LEFT JOIN FETCH a.patient " +
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor JOIN FETCH a.patient " +
            "WHERE a.patient.id = :patientId")
     List<Appointment> findByPatientId(@Param("patientId") Long patientId);
+
+    /**
+     * Check whether a doctor has an appointment starting within a time range, ignoring one appointment
+     */
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a " +
+           "WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end " +
+           "AND a.id <> :excludeId")
+    boolean existsConflictingAppointment(@Param("doctorId") Long doctorId,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end,
+                                         @Param("excludeId") Long excludeId);
+
+    /**
+     * Find (id, doctor id, appointment time) for every appointment starting at or after the given time
+     */
+    @Query("SELECT a.id, a.doctor.id, a.appointmentTime FROM Appointment a WHERE a.appointmentTime >= :from")
+    List<Object[]> findSlotsFrom(@Param("from") LocalDateTime from);
+
+    /**
+     * Find the doctor ID of an appointment without loading the entity
+     */
+    @Query("SELECT a.doctor.id FROM Appointment a WHERE a.id = :id")
+    Optional<Long> findDoctorIdById(@Param("id") Long id);
+
+    /**
+     * Find the start times of a doctor's appointments within a time range
+     */
+    @Query("SELECT a.appointmentTime FROM Appointment a " +
+           "WHERE a.doctor.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end")
+    List<LocalDateTime> findAppointmentTimesByDoctorIdBetween(@Param("doctorId") Long doctorId,
+                                                             @Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end);
+
+    /**
+     * Find (id, appointment time) of the first completed appointments before the cutoff, oldest first,
+     * locked until the archiving transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id, a.appointmentTime FROM Appointment a WHERE a.status = 1 AND a.appointmentTime < :cutoff " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<Object[]> findArchivable(@Param("cutoff") LocalDateTime cutoff, Pageable limit);
+
+    /**
+     * Find (id, appointment time) of the completed appointments before the cutoff that follow the row (time, id),
+     * oldest first, locked until the archiving transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id, a.appointmentTime FROM Appointment a WHERE a.status = 1 AND a.appointmentTime < :cutoff " +
+           "AND (a.appointmentTime > :time OR (a.appointmentTime = :time AND a.id > :id)) " +
+           "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<Object[]> findArchivableAfter(@Param("cutoff") LocalDateTime cutoff,
+                                       @Param("time") LocalDateTime time,
+                                       @Param("id") Long id,
+                                       Pageable limit);
+
+    /**
+     * Count appointments per doctor and calendar month, as (doctor id, year, month, appointments, completed)
+     */
+    @Query("SELECT a.doctor.id, YEAR(a.appointmentTime), MONTH(a.appointmentTime), COUNT(a), " +
+           "SUM(CASE WHEN a.status = 1 THEN 1 ELSE 0 END) FROM Appointment a " +
+           "GROUP BY a.doctor.id, YEAR(a.appointmentTime), MONTH(a.appointmentTime)")
+    List<Object[]> countByDoctorAndMonth();
+
+    /**
+     * Count appointments per doctor and patient, as (doctor id, patient id, patient name, appointments)
+     */
+    @Query("SELECT a.doctor.id, a.patient.id, a.patient.name, COUNT(a) FROM Appointment a " +
+           "GROUP BY a.doctor.id, a.patient.id, a.patient.name")
+    List<Object[]> countByDoctorAndPatient();
 }
 
    // 1. Extend JpaRepository:
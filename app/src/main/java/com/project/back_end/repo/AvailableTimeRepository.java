@@ -0,0 +1,19 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.AvailableTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AvailableTimeRepository extends JpaRepository<AvailableTime, Long> {
+
+    /**
+     * Find every doctor's schedule as plain rows, without loading doctor entities
+     * @return rows of (doctorId, dayOfWeek, startTime, endTime)
+     */
+    @Query("SELECT t.doctor.id, t.dayOfWeek, t.startTime, t.endTime FROM AvailableTime t")
+    List<Object[]> findAllRanges();
+}
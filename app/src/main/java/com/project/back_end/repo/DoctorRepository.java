@@ -49,13 +49,6 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      */
     List<Doctor> findByNameContainingIgnoreCase(String name);
     
-    /**
-     * Find all doctors with their available times eagerly loaded
-     * @return list of all doctors with available times
-     */
-    @Query("SELECT DISTINCT d FROM Doctor d LEFT JOIN FETCH d.availableTimes")
-    List<Doctor> findAllWithAvailableTimes();
-    
     /**
      * Find doctor by ID with available times eagerly loaded
      * @param id the doctor ID
@@ -63,4 +56,11 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
      */
     @Query("SELECT d FROM Doctor d LEFT JOIN FETCH d.availableTimes WHERE d.id = :id")
     Optional<Doctor> findByIdWithAvailableTimes(@Param("id") Long id);
+
+    /**
+     * Find the ID and email of every doctor, without loading the entities
+     * @return rows of (id, email)
+     */
+    @Query("SELECT d.id, d.email FROM Doctor d")
+    List<Object[]> findAllIdAndEmail();
 }
\ No newline at end of file
@@ -1,29 +1,43 @@
 package com.project.back_end.repo;
 
-public interface PatientRepository {
-    // 1. Extend JpaRepository:
-//    - The repository extends JpaRepository<Patient, Long>, which provides basic CRUD functionality.
-//    - This allows the repository to perform operations like save, delete, update, and find without needing to implement these methods manually.
-//    - JpaRepository also includes features like pagination and sorting.
-
-// Example: public interface PatientRepository extends JpaRepository<Patient, Long> {}
-
-// 2. Custom Query Methods:
-
-//    - **findByEmail**:
-//      - This method retrieves a Patient by their email address.
-//      - Return type: Patient
-//      - Parameters: String email
-
-//    - **findByEmailOrPhone**:
-//      - This method retrieves a Patient by either their email or phone number, allowing flexibility for the search.
-//      - Return type: Patient
-//      - Parameters: String email, String phone
-
-// 3. @Repository annotation:
-//    - The @Repository annotation marks this interface as a Spring Data JPA repository.
-//    - Spring Data JPA automatically implements this repository, providing the necessary CRUD functionality and custom queries defined in the interface.
-
-
+import com.project.back_end.models.Patient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PatientRepository extends JpaRepository<Patient, Long> {
+
+    /**
+     * Find a patient by email address
+     * @param email the email to search for
+     * @return Optional containing the patient if found
+     */
+    Optional<Patient> findByEmail(String email);
+
+    /**
+     * Find a patient by email address or phone number
+     * @param email the email to search for
+     * @param phone the phone number to search for
+     * @return Optional containing the patient if found
+     */
+    Optional<Patient> findByEmailOrPhone(String email, String phone);
+
+    /**
+     * Find the ID and email of every patient, without loading the entities
+     * @return rows of (id, email)
+     */
+    @Query("SELECT p.id, p.email FROM Patient p")
+    List<Object[]> findAllIdAndEmail();
+
+    /**
+     * Find patients whose search key hasn't been computed yet (rows from before V5)
+     * @param limit the page to load
+     * @return up to limit patients
+     */
+    List<Patient> findBySearchNameIsNull(Pageable limit);
 }
-
@@ -1,11 +1,20 @@
-
 package com.project.back_end.repo;
 
 import com.project.back_end.models.Prescription;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PrescriptionRepository extends MongoRepository<Prescription, String> {
-    List<Prescription> findByAppointmentId(Long appointmentId);
-}
 
+    /**
+     * Find the prescription of an appointment (appointmentId is uniquely indexed)
+     */
+    Optional<Prescription> findByAppointmentId(Long appointmentId);
+
+    /**
+     * Stream the prescriptions of several appointments from one $in query, read through a cursor
+     */
+    Stream<Prescription> findByAppointmentIdIn(Collection<Long> appointmentIds);
+}
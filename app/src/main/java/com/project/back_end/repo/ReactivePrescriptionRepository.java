@@ -0,0 +1,24 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Prescription;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of PrescriptionRepository, used by the reactive prescription endpoints
+ */
+public interface ReactivePrescriptionRepository extends ReactiveMongoRepository<Prescription, String> {
+
+    /**
+     * Find the prescription of an appointment (appointmentId is uniquely indexed)
+     */
+    Mono<Prescription> findByAppointmentId(Long appointmentId);
+
+    /**
+     * Find the prescriptions of several appointments with one $in query
+     */
+    Flux<Prescription> findByAppointmentIdIn(Collection<Long> appointmentIds);
+}
@@ -0,0 +1,152 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.AppointmentArchiveRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves completed appointments older than the hot horizon from appointment to appointment_archive,
+ * so the hot table only holds what dashboards and booking touch.
+ * Rows are moved in small chunks, each in its own short transaction (lock the keys, copy, delete),
+ * walking the appointment_time index with a keyset so past appointments left scheduled are not read again.
+ * Archived appointments are read-only: history pages and reports read them back, updates no longer find them.
+ */
+@Component
+public class AppointmentArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentArchiver.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${appointment.archive.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${appointment.archive.chunk-size:500}")
+    private int chunkSize;
+
+    // Newest archived appointment time known to this instance, null while the archive is empty;
+    // older rows may be in either table. Other instances may have archived further (see reachesArchive)
+    private volatile LocalDateTime archivedThrough;
+
+    public AppointmentArchiver(AppointmentRepository appointmentRepository,
+                               AppointmentArchiveRepository archiveRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Load how far the archive reaches
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime latest = archiveRepository.findLatestAppointmentTime();
+        if (latest != null) {
+            raiseArchivedThrough(latest);
+        }
+        logger.info("Appointment archive reaches {}", archivedThrough);
+    }
+
+    /**
+     * Archive the completed appointments older than the configured horizon
+     */
+    @Scheduled(cron = "${appointment.archive.cron:0 30 1 * * *}")
+    public void archiveCompleted() {
+        archiveBefore(LocalDateTime.now().minusDays(horizonDays));
+    }
+
+    /**
+     * Archive the completed appointments that start before the cutoff
+     * @param cutoff the hot horizon
+     * @return the number of appointments archived
+     */
+    public long archiveBefore(LocalDateTime cutoff) {
+        long archived = 0;
+        AppointmentCursor after = null;
+        while (true) {
+            AppointmentCursor from = after;
+            List<Object[]> chunk = transactionTemplate.execute(status -> moveChunk(cutoff, from));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            archived += chunk.size();
+            Object[] last = chunk.get(chunk.size() - 1);
+            after = new AppointmentCursor((LocalDateTime) last[1], (Long) last[0]);
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        logger.info("Archived {} completed appointments before {}", archived, cutoff);
+        return archived;
+    }
+
+    /**
+     * Get the newest archived appointment time: history that reaches back to it also has to read the archive
+     * @return the newest archived appointment time, or null when nothing is archived
+     */
+    public LocalDateTime archivedThrough() {
+        return archivedThrough;
+    }
+
+    /**
+     * Check whether a history page that reaches back to a time has to read the archive too.
+     * Only appointments older than the horizon are ever archived, so pages that stay within it skip the archive
+     * without a query. Older pages re-read how far the archive reaches (one indexed MAX), because the job runs
+     * on every instance and another one may have archived further than this one knows.
+     * @param oldest the oldest appointment time on the page, or null when the page ran out of hot rows
+     * @return true if archived rows may belong on the page
+     */
+    public boolean reachesArchive(LocalDateTime oldest) {
+        LocalDateTime known = archivedThrough;
+        if (known != null && (oldest == null || !oldest.isAfter(known))) {
+            return true;
+        }
+        if (oldest != null && !oldest.isBefore(LocalDateTime.now().minusDays(horizonDays))) {
+            return false;
+        }
+        LocalDateTime latest = archiveRepository.findLatestAppointmentTime();
+        if (latest == null) {
+            return false;
+        }
+        raiseArchivedThrough(latest);
+        return oldest == null || !oldest.isAfter(latest);
+    }
+
+    private List<Object[]> moveChunk(LocalDateTime cutoff, AppointmentCursor after) {
+        Pageable limit = PageRequest.of(0, chunkSize);
+        List<Object[]> rows = after == null
+                ? appointmentRepository.findArchivable(cutoff, limit)
+                : appointmentRepository.findArchivableAfter(cutoff, after.appointmentTime(), after.id(), limit);
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+        // Raised before the rows move, so a history page read meanwhile looks in the archive too
+        raiseArchivedThrough((LocalDateTime) rows.get(rows.size() - 1)[1]);
+        archiveRepository.copyFromAppointments(ids, LocalDateTime.now());
+        appointmentRepository.deleteAllByIdInBatch(ids);
+        return rows;
+    }
+
+    private synchronized void raiseArchivedThrough(LocalDateTime appointmentTime) {
+        if (archivedThrough == null || appointmentTime.isAfter(archivedThrough)) {
+            archivedThrough = appointmentTime;
+        }
+    }
+}
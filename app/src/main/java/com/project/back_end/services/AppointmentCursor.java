@@ -0,0 +1,43 @@
+package com.project.back_end.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in an appointment history, newest first: the (appointmentTime, id) of the last row served.
+ * Sent to clients as an opaque URL-safe token.
+ * @param appointmentTime the appointment time of the last row
+ * @param id the ID of the last row
+ */
+public record AppointmentCursor(LocalDateTime appointmentTime, Long id) {
+
+    /**
+     * @return the cursor as a URL-safe token
+     */
+    public String encode() {
+        String raw = appointmentTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a token produced by encode()
+     * @param token the cursor token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static AppointmentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new AppointmentCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                         Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
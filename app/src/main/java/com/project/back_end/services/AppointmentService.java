@@ -1,23 +1,42 @@
 package com.project.back_end.services;
 
+import com.project.back_end.DTO.AppointmentDTO;
 import com.project.back_end.models.Appointment;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentArchiveRepository;
 import com.project.back_end.repo.AppointmentRepository;
 import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.PatientRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.project.back_end.services.TransactionHooks.afterCommit;
 
 @Service
 public class AppointmentService {
@@ -27,133 +46,330 @@ public class AppointmentService {
     private final DoctorRepository doctorRepository;
     private final ValidationService validationService;
     private final TokenService tokenService;
+    private final AppointmentSlotIndex slotIndex;
+    private final DoctorAvailabilityCalendar availabilityCalendar;
+    private final DoctorBookingLocks bookingLocks;
+    private final DoctorPatientRollup patientRollup;
+    private final PatientAutocompleteIndex patientIndex;
+    private final PatientAppointmentCache patientAppointments;
+    private final AppointmentArchiveRepository archiveRepository;
+    private final AppointmentArchiver archiver;
+    private final TransactionTemplate transactionTemplate;
+
+    // Newest first, as history pages are ordered
+    private static final Comparator<AppointmentDTO> HISTORY_ORDER =
+            Comparator.comparing(AppointmentDTO::getAppointmentTime).thenComparing(AppointmentDTO::getId).reversed();
+
+    @Value("${appointment.booking.batch-max-size:500}")
+    private int batchMaxSize;
+
+    @Value("${appointment.history.page-size:50}")
+    private int historyPageSize;
+
+    @Value("${appointment.history.max-page-size:200}")
+    private int historyMaxPageSize;
+
+    @Value("${appointment.patient-autocomplete.max-limit:20}")
+    private int patientAutocompleteMaxLimit;
 
     // Constructor injection for all dependencies
     public AppointmentService(AppointmentRepository appointmentRepository,
                             PatientRepository patientRepository,
                             DoctorRepository doctorRepository,
                             ValidationService validationService,
-                            TokenService tokenService) {
+                            TokenService tokenService,
+                            AppointmentSlotIndex slotIndex,
+                            DoctorAvailabilityCalendar availabilityCalendar,
+                            DoctorBookingLocks bookingLocks,
+                            DoctorPatientRollup patientRollup,
+                            PatientAutocompleteIndex patientIndex,
+                            PatientAppointmentCache patientAppointments,
+                            AppointmentArchiveRepository archiveRepository,
+                            AppointmentArchiver archiver,
+                            PlatformTransactionManager transactionManager) {
         this.appointmentRepository = appointmentRepository;
         this.patientRepository = patientRepository;
         this.doctorRepository = doctorRepository;
         this.validationService = validationService;
         this.tokenService = tokenService;
+        this.slotIndex = slotIndex;
+        this.availabilityCalendar = availabilityCalendar;
+        this.bookingLocks = bookingLocks;
+        this.patientRollup = patientRollup;
+        this.patientIndex = patientIndex;
+        this.patientAppointments = patientAppointments;
+        this.archiveRepository = archiveRepository;
+        this.archiver = archiver;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
-     * Book a new appointment
+     * Book a new appointment.
+     * Bookings for the same doctor are serialized and the lock is held until the
+     * transaction commits, so two requests can't both pass the conflict check.
      * @param appointment The appointment to be booked
      * @return 1 if successful, 0 if failed
      */
-    @Transactional
     public int bookAppointment(Appointment appointment) {
         try {
-            // Validate that the doctor exists
-            Optional<Doctor> doctor = doctorRepository.findById(appointment.getDoctor().getId());
-            if (!doctor.isPresent()) {
-                return 0;
-            }
+            Long doctorId = appointment.getDoctor().getId();
+            Integer result = bookingLocks.withDoctorLock(doctorId,
+                    () -> transactionTemplate.execute(status -> bookWithinTransaction(appointment)));
+            return result != null ? result : 0;
+        } catch (Exception e) {
+            // Includes the slot uniqueness constraint rejecting a booking made by another instance
+            return 0;
+        }
+    }
+
+    private int bookWithinTransaction(Appointment appointment) {
+        // Validate that the doctor exists
+        Optional<Doctor> doctor = doctorRepository.findById(appointment.getDoctor().getId());
+        if (!doctor.isPresent()) {
+            return 0;
+        }
+
+        // Validate that the patient exists
+        Optional<Patient> patient = patientRepository.findById(appointment.getPatient().getId());
+        if (!patient.isPresent()) {
+            return 0;
+        }
+
+        // Check if the doctor is available at the requested time
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDateTime startTime = appointment.getAppointmentTime();
+        LocalDateTime endTime = startTime.plusHours(1);
+        LocalDateTime windowStart = startTime.minusMinutes(30);
+        LocalDateTime windowEnd = endTime.plusMinutes(30);
+
+        // Reject known conflicts from memory, then confirm against the database
+        if (slotIndex.hasConflict(doctorId, windowStart, windowEnd, null)
+                || appointmentRepository.existsConflictingAppointment(doctorId, windowStart, windowEnd, 0L)) {
+            return 0; // Doctor not available
+        }
+
+        // Set appointment status to scheduled (0)
+        appointment.setStatus(0);
+
+        // Save and flush so a slot uniqueness violation surfaces while the lock is held
+        Appointment saved = appointmentRepository.saveAndFlush(appointment);
+        afterCommit(() -> {
+            indexBooking(saved.getId(), doctorId, saved.getAppointmentTime());
+            patientRollup.booked(doctorId, saved.getAppointmentTime(), 0);
+            patientIndex.booked(doctorId, patient.get().getId(), patient.get().getName());
+            patientAppointments.invalidate(patient.get().getId());
+        });
+        return 1;
+    }
+
+    /**
+     * Book several appointments in one call.
+     * Doctors and patients are validated with one lookup per entity type, conflicts are
+     * checked with one range query per doctor and accepted rows go out as one JDBC batch.
+     * @param appointments The appointments to be booked
+     * @return ResponseEntity with a result entry per requested appointment, in request order
+     */
+    public ResponseEntity<Map<String, Object>> bookAppointments(List<Appointment> appointments) {
+        Map<String, Object> response = new HashMap<>();
 
-            // Validate that the patient exists
-            Optional<Patient> patient = patientRepository.findById(appointment.getPatient().getId());
-            if (!patient.isPresent()) {
-                return 0;
+        if (appointments == null || appointments.isEmpty()) {
+            response.put("message", "No appointments provided");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        if (appointments.size() > batchMaxSize) {
+            response.put("message", "A batch can contain at most " + batchMaxSize + " appointments");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+
+        try {
+            Set<Long> doctorIds = appointments.stream()
+                .map(a -> a.getDoctor() != null ? a.getDoctor().getId() : null)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+            List<Map<String, Object>> results = bookingLocks.withDoctorLocks(doctorIds,
+                    () -> transactionTemplate.execute(status -> bookBatchWithinTransaction(appointments, doctorIds)));
+
+            long booked = results.stream().filter(r -> "BOOKED".equals(r.get("status"))).count();
+            response.put("message", booked + " of " + appointments.size() + " appointments booked");
+            response.put("booked", booked);
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            response.put("message", "Error booking appointments: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    private List<Map<String, Object>> bookBatchWithinTransaction(List<Appointment> appointments, Set<Long> doctorIds) {
+        Set<Long> patientIds = appointments.stream()
+            .map(a -> a.getPatient() != null ? a.getPatient().getId() : null)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+
+        // Validate doctors and patients with one query per entity type
+        Map<Long, Doctor> knownDoctors = doctorRepository.findAllById(doctorIds).stream()
+            .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+        Map<Long, Patient> knownPatients = patientRepository.findAllById(patientIds).stream()
+            .collect(Collectors.toMap(Patient::getId, Function.identity()));
+
+        List<Map<String, Object>> results = new ArrayList<>(appointments.size());
+        Map<Long, List<Appointment>> candidatesByDoctor = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < appointments.size(); i++) {
+            Appointment appointment = appointments.get(i);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("index", i);
+            results.add(result);
+
+            if (appointment.getDoctor() == null || !knownDoctors.containsKey(appointment.getDoctor().getId())) {
+                result.put("status", "INVALID_DOCTOR");
+            } else if (appointment.getPatient() == null || !knownPatients.containsKey(appointment.getPatient().getId())) {
+                result.put("status", "INVALID_PATIENT");
+            } else if (appointment.getAppointmentTime() == null || !appointment.getAppointmentTime().isAfter(now)) {
+                result.put("status", "INVALID_TIME");
+            } else {
+                candidatesByDoctor.computeIfAbsent(appointment.getDoctor().getId(), id -> new ArrayList<>()).add(appointment);
             }
+        }
 
-            // Check if the doctor is available at the requested time
-            LocalDateTime startTime = appointment.getAppointmentTime();
-            LocalDateTime endTime = startTime.plusHours(1);
-            
-            List<Appointment> conflictingAppointments = appointmentRepository
-                .findByDoctorIdAndAppointmentTimeBetween(
-                    appointment.getDoctor().getId(), 
-                    startTime.minusMinutes(30), 
-                    endTime.plusMinutes(30)
-                );
-
-            if (!conflictingAppointments.isEmpty()) {
-                return 0; // Doctor not available
+        // One range query per doctor covers the conflict windows of all of its requested slots;
+        // accepted slots are added to the same set so the batch can't double-book itself
+        Map<Long, NavigableSet<LocalDateTime>> takenByDoctor = new HashMap<>();
+        for (Map.Entry<Long, List<Appointment>> entry : candidatesByDoctor.entrySet()) {
+            LocalDateTime earliest = entry.getValue().stream().map(Appointment::getAppointmentTime)
+                .min(LocalDateTime::compareTo).get();
+            LocalDateTime latest = entry.getValue().stream().map(Appointment::getAppointmentTime)
+                .max(LocalDateTime::compareTo).get();
+            takenByDoctor.put(entry.getKey(), new TreeSet<>(appointmentRepository
+                .findAppointmentTimesByDoctorIdBetween(entry.getKey(), earliest.minusMinutes(30), latest.plusMinutes(90))));
+        }
+
+        List<Appointment> accepted = new ArrayList<>();
+        List<Map<String, Object>> acceptedResults = new ArrayList<>();
+        for (int i = 0; i < appointments.size(); i++) {
+            Map<String, Object> result = results.get(i);
+            if (result.containsKey("status")) {
+                continue;
             }
+            Appointment appointment = appointments.get(i);
+            LocalDateTime startTime = appointment.getAppointmentTime();
+            NavigableSet<LocalDateTime> taken = takenByDoctor.get(appointment.getDoctor().getId());
 
-            // Set appointment status to scheduled (0)
+            if (!taken.subSet(startTime.minusMinutes(30), true, startTime.plusMinutes(90), true).isEmpty()) {
+                result.put("status", "CONFLICT");
+                continue;
+            }
+            taken.add(startTime);
+            appointment.setDoctor(knownDoctors.get(appointment.getDoctor().getId()));
+            appointment.setPatient(knownPatients.get(appointment.getPatient().getId()));
             appointment.setStatus(0);
-            
-            // Save the appointment
-            appointmentRepository.save(appointment);
-            return 1;
-import com.project.back_end.services.TokenService; // Added import for TokenService
-        } catch (Exception e) {
-            return 0;
+            accepted.add(appointment);
+            acceptedResults.add(result);
+        }
+
+        // IDs come from the pooled sequence, so the inserts go out as JDBC batches on flush
+        appointmentRepository.saveAllAndFlush(accepted);
+        for (int i = 0; i < accepted.size(); i++) {
+            Appointment appointment = accepted.get(i);
+            Long id = appointment.getId();
+            acceptedResults.get(i).put("status", "BOOKED");
+            acceptedResults.get(i).put("appointmentId", id);
+            afterCommit(() -> {
+                indexBooking(id, appointment.getDoctor().getId(), appointment.getAppointmentTime());
+                patientRollup.booked(appointment.getDoctor().getId(), appointment.getAppointmentTime(), 0);
+                patientIndex.booked(appointment.getDoctor().getId(), appointment.getPatient().getId(),
+                                    appointment.getPatient().getName());
+                patientAppointments.invalidate(appointment.getPatient().getId());
+            });
         }
+        return results;
     }
 
     /**
-     * Update an existing appointment
+     * Update an existing appointment.
+     * Runs under the same per-doctor lock as booking so a reschedule can't race a new booking.
      * @param appointmentId The ID of the appointment to update
      * @param updatedAppointment The updated appointment data
      * @param patientId The ID of the patient requesting the update
      * @return ResponseEntity with success or error message
      */
-    @Transactional
     public ResponseEntity<Map<String, Object>> updateAppointment(Long appointmentId, 
                                                                Appointment updatedAppointment, 
                                                                Long patientId) {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            // Find the existing appointment
-            Optional<Appointment> existingAppointmentOpt = appointmentRepository.findById(appointmentId);
-            if (!existingAppointmentOpt.isPresent()) {
+            Optional<Long> doctorIdOpt = appointmentRepository.findDoctorIdById(appointmentId);
+            if (!doctorIdOpt.isPresent()) {
                 response.put("message", "Appointment not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
 
-            Appointment existingAppointment = existingAppointmentOpt.get();
+            return bookingLocks.withDoctorLock(doctorIdOpt.get(), () -> transactionTemplate.execute(
+                    status -> updateWithinTransaction(appointmentId, updatedAppointment, patientId)));
 
-            // Validate that the patient owns this appointment
-            if (!existingAppointment.getPatient().getId().equals(patientId)) {
-                response.put("message", "Unauthorized: You can only update your own appointments");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
-            }
+        } catch (Exception e) {
+            response.put("message", "Error updating appointment: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
 
-            // Check if appointment is still scheduled (status = 0)
-            if (existingAppointment.getStatus() != 0) {
-                response.put("message", "Cannot update completed or cancelled appointments");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-            }
+    private ResponseEntity<Map<String, Object>> updateWithinTransaction(Long appointmentId,
+                                                                       Appointment updatedAppointment,
+                                                                       Long patientId) {
+        Map<String, Object> response = new HashMap<>();
 
-            // Validate the new appointment time doesn't conflict with doctor's schedule
-            LocalDateTime newStartTime = updatedAppointment.getAppointmentTime();
-            LocalDateTime newEndTime = newStartTime.plusHours(1);
-            
-            List<Appointment> conflictingAppointments = appointmentRepository
-                .findByDoctorIdAndAppointmentTimeBetween(
-                    existingAppointment.getDoctor().getId(),
-                    newStartTime.minusMinutes(30),
-                    newEndTime.plusMinutes(30)
-                );
-
-            // Remove the current appointment from conflicts check
-            conflictingAppointments.removeIf(apt -> apt.getId().equals(appointmentId));
-
-            if (!conflictingAppointments.isEmpty()) {
-                response.put("message", "Doctor is not available at the requested time");
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
-            }
+        // Find the existing appointment
+        Optional<Appointment> existingAppointmentOpt = appointmentRepository.findById(appointmentId);
+        if (!existingAppointmentOpt.isPresent()) {
+            response.put("message", "Appointment not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
 
-            // Update the appointment
-            existingAppointment.setAppointmentTime(updatedAppointment.getAppointmentTime());
-            appointmentRepository.save(existingAppointment);
+        Appointment existingAppointment = existingAppointmentOpt.get();
 
-            response.put("message", "Appointment updated successfully");
-            response.put("appointment", existingAppointment);
-            return ResponseEntity.ok(response);
+        // Validate that the patient owns this appointment
+        if (!existingAppointment.getPatient().getId().equals(patientId)) {
+            response.put("message", "Unauthorized: You can only update your own appointments");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
 
-        } catch (Exception e) {
-            response.put("message", "Error updating appointment: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        // Check if appointment is still scheduled (status = 0)
+        if (existingAppointment.getStatus() != 0) {
+            response.put("message", "Cannot update completed or cancelled appointments");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         }
+
+        // Validate the new appointment time doesn't conflict with doctor's schedule
+        Long doctorId = existingAppointment.getDoctor().getId();
+        LocalDateTime newStartTime = updatedAppointment.getAppointmentTime();
+        LocalDateTime newEndTime = newStartTime.plusHours(1);
+        LocalDateTime windowStart = newStartTime.minusMinutes(30);
+        LocalDateTime windowEnd = newEndTime.plusMinutes(30);
+
+        // The current appointment is excluded from the conflict check
+        if (slotIndex.hasConflict(doctorId, windowStart, windowEnd, appointmentId)
+                || appointmentRepository.existsConflictingAppointment(doctorId, windowStart, windowEnd, appointmentId)) {
+            response.put("message", "Doctor is not available at the requested time");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+
+        // Update the appointment
+        LocalDateTime previousStartTime = existingAppointment.getAppointmentTime();
+        existingAppointment.setAppointmentTime(updatedAppointment.getAppointmentTime());
+        appointmentRepository.saveAndFlush(existingAppointment);
+        afterCommit(() -> {
+            indexBooking(appointmentId, doctorId, newStartTime);
+            patientRollup.moved(doctorId, previousStartTime, newStartTime, 0);
+            patientAppointments.invalidate(patientId);
+        });
+
+        response.put("message", "Appointment updated successfully");
+        response.put("appointment", existingAppointment);
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -189,7 +405,15 @@ import com.project.back_end.services.TokenService; // Added import for TokenServ
             }
 
             // Delete the appointment
+            Long doctorId = appointment.getDoctor().getId();
+            LocalDateTime appointmentTime = appointment.getAppointmentTime();
             appointmentRepository.delete(appointment);
+            afterCommit(() -> {
+                unindexBooking(appointmentId);
+                patientRollup.cancelled(doctorId, appointmentTime, 0);
+                patientIndex.cancelled(doctorId, patientId);
+                patientAppointments.invalidate(patientId);
+            });
 
             response.put("message", "Appointment cancelled successfully");
             return ResponseEntity.ok(response);
@@ -213,8 +437,7 @@ import com.project.back_end.services.TokenService; // Added import for TokenServ
         
         try {
             // Validate doctor exists
-            Optional<Doctor> doctorOpt = doctorRepository.findById(doctorId);
-            if (!doctorOpt.isPresent()) {
+            if (!doctorRepository.existsById(doctorId)) {
                 response.put("message", "Doctor not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
@@ -222,20 +445,19 @@ import com.project.back_end.services.TokenService; // Added import for TokenServ
             // Parse the date
             LocalDate appointmentDate = LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
             LocalDateTime startOfDay = appointmentDate.atStartOfDay();
-            LocalDateTime endOfDay = appointmentDate.atTime(23, 59, 59);
+            LocalDateTime startOfNextDay = appointmentDate.plusDays(1).atStartOfDay();
 
-            List<Appointment> appointments;
+            // List rows only: the dashboard doesn't need the doctor and patient entities
+            List<AppointmentDTO> appointments;
 
             if (patientName != null && !patientName.trim().isEmpty()) {
-                // Filter by patient name
+                // Filter by patient name, compared on the normalized search key (case and accents ignored)
                 appointments = appointmentRepository
-                    .findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
-                        doctorId, patientName.trim(), startOfDay, endOfDay
-                    );
+                    .findDoctorAppointmentViewsByPatientName(doctorId, Patient.searchKey(patientName), startOfDay, startOfNextDay);
             } else {
                 // Get all appointments for the doctor on the specified date
                 appointments = appointmentRepository
-                    .findByDoctorIdAndAppointmentTimeBetween(doctorId, startOfDay, endOfDay);
+                    .findDoctorAppointmentViews(doctorId, startOfDay, startOfNextDay);
             }
 
             response.put("appointments", appointments);
@@ -248,6 +470,23 @@ import com.project.back_end.services.TokenService; // Added import for TokenServ
         }
     }
 
+    /**
+     * Suggest a doctor's patients for a partial name, read from the in-memory autocomplete index
+     * @param doctorId The ID of the doctor
+     * @param prefix The partial name; every word must start a word of the patient's name
+     * @param limit The number of patients to return
+     * @return ResponseEntity with the matching patients, most appointments first, or 400 for an invalid limit
+     */
+    public ResponseEntity<Map<String, Object>> getPatientSuggestions(Long doctorId, String prefix, int limit) {
+        Map<String, Object> response = new HashMap<>();
+        if (limit < 1 || limit > patientAutocompleteMaxLimit) {
+            response.put("message", "Limit must be between 1 and " + patientAutocompleteMaxLimit);
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("patients", patientIndex.suggest(doctorId, prefix, limit));
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Change the status of an appointment
      * @param appointmentId The ID of the appointment
@@ -275,8 +514,15 @@ import com.project.back_end.services.TokenService; // Added import for TokenServ
             }
 
             // Update the status
+            int previousStatus = appointment.getStatus();
             appointment.setStatus(newStatus);
             appointmentRepository.save(appointment);
+            afterCommit(() -> {
+                indexBooking(appointmentId, appointment.getDoctor().getId(), appointment.getAppointmentTime());
+                patientRollup.statusChanged(appointment.getDoctor().getId(), appointment.getAppointmentTime(),
+                                            previousStatus, newStatus);
+                patientAppointments.invalidate(appointment.getPatient().getId());
+            });
 
             String statusText = newStatus == 0 ? "Scheduled" : "Completed";
             response.put("message", "Appointment status updated to " + statusText);
@@ -290,22 +536,122 @@ import com.project.back_end.services.TokenService; // Added import for TokenServ
     }
 
     /**
-     * Get all appointments for a specific patient
+     * Get one page of a patient's appointments, newest first.
+     * Pages seek past the (appointmentTime, id) of the previous page's last row,
+     * so every page costs the same however deep the history goes.
+     * Pages that reach back past the hot horizon also read the archive (see AppointmentArchiver).
      * @param patientId The ID of the patient
-     * @return List of appointments for the patient
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param size The page size, or null for the configured default
+     * @return ResponseEntity with the appointments, the next cursor and whether more pages follow
      */
     @Transactional(readOnly = true)
-    public List<Appointment> getPatientAppointments(Long patientId) {
-        return appointmentRepository.findByPatientIdOrderByAppointmentTimeDesc(patientId);
+    public ResponseEntity<Map<String, Object>> getPatientAppointments(Long patientId, String cursor, Integer size) {
+        return historyPage(cursor, size,
+                (after, limit) -> after == null
+                        ? appointmentRepository.findPatientHistory(patientId, limit)
+                        : appointmentRepository.findPatientHistoryAfter(patientId, after.appointmentTime(), after.id(), limit),
+                (after, limit) -> after == null
+                        ? archiveRepository.findPatientHistory(patientId, limit)
+                        : archiveRepository.findPatientHistoryAfter(patientId, after.appointmentTime(), after.id(), limit));
     }
 
     /**
-     * Get all appointments for a specific doctor
+     * Get one page of a doctor's appointments, newest first
      * @param doctorId The ID of the doctor
-     * @return List of appointments for the doctor
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param size The page size, or null for the configured default
+     * @return ResponseEntity with the appointments, the next cursor and whether more pages follow
      */
     @Transactional(readOnly = true)
-    public List<Appointment> getDoctorAppointments(Long doctorId) {
-        return appointmentRepository.findByDoctorIdOrderByAppointmentTimeDesc(doctorId);
+    public ResponseEntity<Map<String, Object>> getDoctorAppointments(Long doctorId, String cursor, Integer size) {
+        return historyPage(cursor, size,
+                (after, limit) -> after == null
+                        ? appointmentRepository.findDoctorHistory(doctorId, limit)
+                        : appointmentRepository.findDoctorHistoryAfter(doctorId, after.appointmentTime(), after.id(), limit),
+                (after, limit) -> after == null
+                        ? archiveRepository.findDoctorHistory(doctorId, limit)
+                        : archiveRepository.findDoctorHistoryAfter(doctorId, after.appointmentTime(), after.id(), limit));
+    }
+
+    // Both queries take the cursor to seek past, null for the first page
+    private ResponseEntity<Map<String, Object>> historyPage(String cursor, Integer size,
+            BiFunction<AppointmentCursor, Pageable, List<AppointmentDTO>> hot,
+            BiFunction<AppointmentCursor, Pageable, List<AppointmentDTO>> archived) {
+        Map<String, Object> response = new HashMap<>();
+        if (size != null && size < 1) {
+            response.put("message", "Page size must be positive");
+            return ResponseEntity.badRequest().body(response);
+        }
+        AppointmentCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = AppointmentCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                response.put("message", "Invalid cursor");
+                return ResponseEntity.badRequest().body(response);
+            }
+        }
+
+        int pageSize = Math.min(size != null ? size : historyPageSize, historyMaxPageSize);
+        // One extra row tells whether another page follows, without a count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<AppointmentDTO> rows = hot.apply(after, limit);
+        // A full page of hot rows newer than everything archived doesn't need the archive
+        LocalDateTime oldest = rows.size() < limit.getPageSize() ? null : rows.get(rows.size() - 1).getAppointmentTime();
+        if (archiver.reachesArchive(oldest)) {
+            rows = mergeHistory(rows, archived.apply(after, limit), limit.getPageSize());
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<AppointmentDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AppointmentDTO last = page.get(page.size() - 1);
+            nextCursor = new AppointmentCursor(last.getAppointmentTime(), last.getId()).encode();
+        }
+        response.put("appointments", new ArrayList<>(page));
+        response.put("nextCursor", nextCursor);
+        response.put("hasMore", hasMore);
+        return ResponseEntity.ok(response);
+    }
+
+    // Merge two pages ordered by (appointmentTime, id) descending; a row moved while both were read appears once
+    private static List<AppointmentDTO> mergeHistory(List<AppointmentDTO> hot, List<AppointmentDTO> archived, int limit) {
+        List<AppointmentDTO> merged = new ArrayList<>(Math.min(limit, hot.size() + archived.size()));
+        int h = 0;
+        int a = 0;
+        while (merged.size() < limit && (h < hot.size() || a < archived.size())) {
+            AppointmentDTO next;
+            if (a >= archived.size() || (h < hot.size() && HISTORY_ORDER.compare(hot.get(h), archived.get(a)) <= 0)) {
+                next = hot.get(h++);
+            } else {
+                next = archived.get(a++);
+            }
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Record a committed booking in the in-memory slot index and availability calendar
+     * @param appointmentId the appointment ID
+     * @param doctorId the doctor ID
+     * @param appointmentTime the appointment start time
+     */
+    private void indexBooking(Long appointmentId, Long doctorId, LocalDateTime appointmentTime) {
+        slotIndex.put(appointmentId, doctorId, appointmentTime);
+        availabilityCalendar.put(appointmentId, doctorId, appointmentTime);
+    }
+
+    /**
+     * Drop a committed cancellation from the in-memory slot index and availability calendar
+     * @param appointmentId the appointment ID
+     */
+    private void unindexBooking(Long appointmentId) {
+        slotIndex.remove(appointmentId);
+        availabilityCalendar.remove(appointmentId);
     }
 }
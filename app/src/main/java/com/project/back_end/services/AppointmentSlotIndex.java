@@ -0,0 +1,119 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of booked appointment slots, grouped per doctor.
+ * Used by AppointmentService to reject conflicting bookings without a database round trip.
+ * The database remains the authoritative check for slots the index reports as free.
+ */
+@Component
+public class AppointmentSlotIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentSlotIndex.class);
+
+    // Widest look-behind used by a conflict window (start - 30 minutes, end + 30 minutes)
+    private static final long WARM_UP_LOOK_BEHIND_MINUTES = 90;
+
+    private static final Comparator<Slot> SLOT_ORDER =
+            Comparator.comparing(Slot::time).thenComparingLong(Slot::appointmentId);
+
+    private final AppointmentRepository appointmentRepository;
+
+    // doctorId -> booked slots ordered by time
+    private final Map<Long, NavigableSet<Slot>> slotsByDoctor = new ConcurrentHashMap<>();
+
+    // appointmentId -> indexed slot, used to move or drop an entry
+    private final Map<Long, Slot> slotsByAppointment = new ConcurrentHashMap<>();
+
+    public AppointmentSlotIndex(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    /**
+     * Load every appointment that can still take part in a conflict check.
+     * New bookings must be in the future, so older rows are never inspected.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime from = LocalDateTime.now().minusMinutes(WARM_UP_LOOK_BEHIND_MINUTES);
+        List<Object[]> rows = appointmentRepository.findSlotsFrom(from);
+        for (Object[] row : rows) {
+            put((Long) row[0], (Long) row[1], (LocalDateTime) row[2]);
+        }
+        logger.info("Appointment slot index warmed with {} slots", rows.size());
+    }
+
+    /**
+     * Add an appointment to the index, or move it if it is already indexed
+     * @param appointmentId the appointment ID
+     * @param doctorId the doctor ID
+     * @param appointmentTime the appointment start time
+     */
+    public void put(Long appointmentId, Long doctorId, LocalDateTime appointmentTime) {
+        remove(appointmentId);
+        Slot slot = new Slot(appointmentId, doctorId, appointmentTime);
+        slotsByDoctor.computeIfAbsent(doctorId, id -> new ConcurrentSkipListSet<>(SLOT_ORDER)).add(slot);
+        slotsByAppointment.put(appointmentId, slot);
+    }
+
+    /**
+     * Remove an appointment from the index
+     * @param appointmentId the appointment ID
+     */
+    public void remove(Long appointmentId) {
+        Slot slot = slotsByAppointment.remove(appointmentId);
+        if (slot != null) {
+            NavigableSet<Slot> slots = slotsByDoctor.get(slot.doctorId());
+            if (slots != null) {
+                slots.remove(slot);
+            }
+        }
+    }
+
+    /**
+     * Check whether the doctor has an indexed appointment starting within the given window
+     * @param doctorId the doctor ID
+     * @param start the window start (inclusive)
+     * @param end the window end (inclusive)
+     * @param excludeAppointmentId appointment to ignore, e.g. the one being rescheduled (may be null)
+     * @return true if a conflicting appointment is indexed
+     */
+    public boolean hasConflict(Long doctorId, LocalDateTime start, LocalDateTime end, Long excludeAppointmentId) {
+        NavigableSet<Slot> slots = slotsByDoctor.get(doctorId);
+        if (slots == null) {
+            return false;
+        }
+        NavigableSet<Slot> window = slots.subSet(
+                new Slot(Long.MIN_VALUE, doctorId, start), true,
+                new Slot(Long.MAX_VALUE, doctorId, end), true);
+        for (Slot slot : window) {
+            if (!slot.appointmentId().equals(excludeAppointmentId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return number of indexed appointments
+     */
+    public int size() {
+        return slotsByAppointment.size();
+    }
+
+    private record Slot(Long appointmentId, Long doctorId, LocalDateTime time) {}
+}
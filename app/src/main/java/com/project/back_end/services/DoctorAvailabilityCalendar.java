@@ -0,0 +1,288 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.AvailableTimeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Materialized free-slot calendar per doctor and day.
+ * Each day is split into 96 slots of 15 minutes held in a pair of longs. A doctor's weekly
+ * available times become slot masks per weekday, booked appointments set bits in a per-day mask,
+ * and the resulting list of free time ranges is precomputed on every change so a lookup
+ * is a pair of map reads.
+ */
+@Component
+public class DoctorAvailabilityCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorAvailabilityCalendar.class);
+
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    // Appointments last one hour
+    private static final int APPOINTMENT_SLOTS = 60 / SLOT_MINUTES;
+
+    private final AvailableTimeRepository availableTimeRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    // doctorId -> calendar
+    private final Map<Long, DoctorCalendar> calendars = new ConcurrentHashMap<>();
+
+    // appointmentId -> doctor and start time, used to move or free a booking
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+
+    public DoctorAvailabilityCalendar(AvailableTimeRepository availableTimeRepository,
+                                      AppointmentRepository appointmentRepository) {
+        this.availableTimeRepository = availableTimeRepository;
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    /**
+     * Load every doctor's available times and the appointments booked from today on
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<Long, List<AvailableTime>> schedules = new HashMap<>();
+        for (Object[] row : availableTimeRepository.findAllRanges()) {
+            schedules.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                .add(new AvailableTime((DayOfWeek) row[1], (LocalTime) row[2], (LocalTime) row[3]));
+        }
+        schedules.forEach(this::setAvailableTimes);
+        List<Object[]> rows = appointmentRepository.findSlotsFrom(LocalDate.now().atStartOfDay());
+        for (Object[] row : rows) {
+            put((Long) row[0], (Long) row[1], (LocalDateTime) row[2]);
+        }
+        logger.info("Availability calendar warmed with {} doctors and {} bookings", schedules.size(), rows.size());
+    }
+
+    /**
+     * Drop days that have passed; nobody books into them any more
+     */
+    @Scheduled(cron = "${appointment.availability.purge-cron:0 5 0 * * *}")
+    public void purgePastDays() {
+        LocalDate today = LocalDate.now();
+        bookings.values().removeIf(booking -> booking.time().plusHours(1).toLocalDate().isBefore(today));
+        for (DoctorCalendar calendar : calendars.values()) {
+            calendar.days.keySet().removeIf(date -> date.isBefore(today));
+        }
+    }
+
+    /**
+     * Set or replace a doctor's weekly available times
+     * @param doctorId the doctor ID
+     * @param availableTimes the doctor's schedule
+     */
+    public void setAvailableTimes(Long doctorId, List<AvailableTime> availableTimes) {
+        Map<DayOfWeek, List<TimeRange>> ranges = new EnumMap<>(DayOfWeek.class);
+        if (availableTimes != null) {
+            for (AvailableTime availableTime : availableTimes) {
+                TimeRange range = TimeRange.of(availableTime);
+                if (range == null) {
+                    logger.warn("Ignoring invalid available time {} {}-{} for doctor {}", availableTime.getDayOfWeek(),
+                            availableTime.getStartTime(), availableTime.getEndTime(), doctorId);
+                } else {
+                    ranges.computeIfAbsent(availableTime.getDayOfWeek(), day -> new ArrayList<>()).add(range);
+                }
+            }
+        }
+        ranges.values().forEach(dayRanges -> dayRanges.sort(Comparator.comparing(TimeRange::label)));
+        DoctorCalendar calendar = calendars.computeIfAbsent(doctorId, id -> new DoctorCalendar());
+        synchronized (calendar) {
+            calendar.ranges = ranges;
+            Map<DayOfWeek, List<String>> freeDays = new EnumMap<>(DayOfWeek.class);
+            for (DayOfWeek dayOfWeek : ranges.keySet()) {
+                freeDays.put(dayOfWeek, calendar.available(dayOfWeek, SlotSet.EMPTY));
+            }
+            calendar.freeDays = freeDays;
+            calendar.days.replaceAll((date, day) -> calendar.recompute(date, day.bookings));
+        }
+    }
+
+    /**
+     * Remove a doctor and their bookings
+     * @param doctorId the doctor ID
+     */
+    public void removeDoctor(Long doctorId) {
+        calendars.remove(doctorId);
+        bookings.values().removeIf(booking -> booking.doctorId().equals(doctorId));
+    }
+
+    /**
+     * Mark an appointment's slots as booked, or move them if it is already tracked
+     * @param appointmentId the appointment ID
+     * @param doctorId the doctor ID
+     * @param appointmentTime the appointment start time
+     */
+    public void put(Long appointmentId, Long doctorId, LocalDateTime appointmentTime) {
+        remove(appointmentId);
+        bookings.put(appointmentId, new Booking(doctorId, appointmentTime));
+        DoctorCalendar calendar = calendars.computeIfAbsent(doctorId, id -> new DoctorCalendar());
+        forEachDay(appointmentTime, (date, slots) -> calendar.book(date, appointmentId, slots));
+    }
+
+    /**
+     * Free an appointment's slots
+     * @param appointmentId the appointment ID
+     */
+    public void remove(Long appointmentId) {
+        Booking booking = bookings.remove(appointmentId);
+        if (booking == null) {
+            return;
+        }
+        DoctorCalendar calendar = calendars.get(booking.doctorId());
+        if (calendar != null) {
+            forEachDay(booking.time(), (date, slots) -> calendar.free(date, appointmentId));
+        }
+    }
+
+    /**
+     * Get the doctor's available times that are still completely free on a day
+     * @param doctorId the doctor ID
+     * @param date the day
+     * @return free time ranges such as "09:00-10:00", empty if the doctor is unknown
+     */
+    public List<String> getAvailableTimes(Long doctorId, LocalDate date) {
+        DoctorCalendar calendar = calendars.get(doctorId);
+        if (calendar == null) {
+            return List.of();
+        }
+        Day day = calendar.days.get(date);
+        return day != null ? day.available : calendar.freeDays.getOrDefault(date.getDayOfWeek(), List.of());
+    }
+
+    // Split a one-hour appointment into the slots it covers per day (it may run past midnight)
+    private static void forEachDay(LocalDateTime start, DaySlotsConsumer consumer) {
+        LocalDate date = start.toLocalDate();
+        int first = (start.getHour() * 60 + start.getMinute()) / SLOT_MINUTES;
+        int last = first + APPOINTMENT_SLOTS + (start.getMinute() % SLOT_MINUTES == 0 ? 0 : 1);
+        consumer.accept(date, SlotSet.range(first, Math.min(last, SLOTS_PER_DAY)));
+        if (last > SLOTS_PER_DAY) {
+            consumer.accept(date.plusDays(1), SlotSet.range(0, last - SLOTS_PER_DAY));
+        }
+    }
+
+    @FunctionalInterface
+    private interface DaySlotsConsumer {
+        void accept(LocalDate date, SlotSet slots);
+    }
+
+    private record Booking(Long doctorId, LocalDateTime time) {}
+
+    // One doctor's weekly template and booked days; writers synchronize on the calendar, readers don't lock
+    private static final class DoctorCalendar {
+        // Replaced wholesale, never mutated after publication
+        private volatile Map<DayOfWeek, List<TimeRange>> ranges = Map.of();
+        private volatile Map<DayOfWeek, List<String>> freeDays = Map.of();
+        private final Map<LocalDate, Day> days = new ConcurrentHashMap<>();
+
+        synchronized void book(LocalDate date, Long appointmentId, SlotSet slots) {
+            Day day = days.get(date);
+            Map<Long, SlotSet> dayBookings = day != null ? new HashMap<>(day.bookings) : new HashMap<>();
+            dayBookings.put(appointmentId, slots);
+            days.put(date, recompute(date, dayBookings));
+        }
+
+        synchronized void free(LocalDate date, Long appointmentId) {
+            Day day = days.get(date);
+            if (day == null) {
+                return;
+            }
+            Map<Long, SlotSet> dayBookings = new HashMap<>(day.bookings);
+            dayBookings.remove(appointmentId);
+            if (dayBookings.isEmpty()) {
+                days.remove(date);
+            } else {
+                days.put(date, recompute(date, dayBookings));
+            }
+        }
+
+        Day recompute(LocalDate date, Map<Long, SlotSet> dayBookings) {
+            SlotSet booked = SlotSet.EMPTY;
+            for (SlotSet slots : dayBookings.values()) {
+                booked = booked.or(slots);
+            }
+            return new Day(Map.copyOf(dayBookings), available(date.getDayOfWeek(), booked));
+        }
+
+        List<String> available(DayOfWeek dayOfWeek, SlotSet booked) {
+            List<String> available = new ArrayList<>();
+            for (TimeRange range : ranges.getOrDefault(dayOfWeek, List.of())) {
+                if (!range.slots().intersects(booked)) {
+                    available.add(range.label());
+                }
+            }
+            return List.copyOf(available);
+        }
+    }
+
+    // Bookings of one day and the precomputed free ranges
+    private record Day(Map<Long, SlotSet> bookings, List<String> available) {}
+
+    // A configured available time, e.g. "09:00-10:00", and the slots it covers
+    private record TimeRange(String label, SlotSet slots) {
+
+        static TimeRange of(AvailableTime availableTime) {
+            LocalTime start = availableTime.getStartTime();
+            LocalTime end = availableTime.getEndTime();
+            if (availableTime.getDayOfWeek() == null || start == null || end == null) {
+                return null;
+            }
+            int first = (start.getHour() * 60 + start.getMinute()) / SLOT_MINUTES;
+            // An end of 00:00 after a later start means the range runs to midnight
+            int last = end.equals(LocalTime.MIDNIGHT)
+                    ? SLOTS_PER_DAY
+                    : (end.getHour() * 60 + end.getMinute() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            if (last <= first) {
+                return null;
+            }
+            return new TimeRange(availableTime.getLabel(), SlotSet.range(first, last));
+        }
+    }
+
+    // 96 bits, one per 15-minute slot: slots 0-63 in low, 64-95 in high
+    private record SlotSet(long low, long high) {
+
+        static final SlotSet EMPTY = new SlotSet(0L, 0L);
+
+        // Slots from first (inclusive) to last (exclusive)
+        static SlotSet range(int first, int last) {
+            return new SlotSet(bits(first, last, 0), bits(first, last, 64));
+        }
+
+        private static long bits(int first, int last, int offset) {
+            int from = Math.max(first - offset, 0);
+            int to = Math.min(last - offset, 64);
+            if (from >= to) {
+                return 0L;
+            }
+            long upTo = to == 64 ? -1L : (1L << to) - 1;
+            return upTo & (-1L << from);
+        }
+
+        SlotSet or(SlotSet other) {
+            return new SlotSet(low | other.low, high | other.high);
+        }
+
+        boolean intersects(SlotSet other) {
+            return (low & other.low) != 0 || (high & other.high) != 0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.back_end.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed by doctor ID.
+ * Writes for the same doctor are serialized while writes for different doctors
+ * run in parallel (unless two doctors happen to share a stripe).
+ */
+@Component
+public class DoctorBookingLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public DoctorBookingLocks(@Value("${appointment.booking.lock-stripes:64}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("appointment.booking.lock-stripes must be at least 1");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run an action while holding the lock for the given doctor
+     * @param doctorId the doctor ID
+     * @param action the action to run
+     * @return the action's result
+     */
+    public <T> T withDoctorLock(Long doctorId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(doctorId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run an action while holding the locks for several doctors.
+     * Stripes are always taken in index order so concurrent callers can't deadlock.
+     * @param doctorIds the doctor IDs
+     * @param action the action to run
+     * @return the action's result
+     */
+    public <T> T withDoctorLocks(Collection<Long> doctorIds, Supplier<T> action) {
+        SortedSet<Integer> indexes = new TreeSet<>();
+        for (Long doctorId : doctorIds) {
+            indexes.add(stripeIndex(doctorId));
+        }
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                held.add(stripes[index]);
+            }
+            return action.get();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(Long doctorId) {
+        return stripes[stripeIndex(doctorId)];
+    }
+
+    private int stripeIndex(Long doctorId) {
+        return Math.floorMod(Long.hashCode(doctorId), stripes.length);
+    }
+}
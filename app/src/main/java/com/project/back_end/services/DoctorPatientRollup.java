@@ -0,0 +1,234 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.AppointmentArchiveRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Patients seen per doctor, rolled up per calendar month and year, for the "most patients" leaderboards.
+ * Counts are loaded with one aggregate query at startup and then adjusted as appointments are
+ * booked, moved, completed or cancelled, so a leaderboard is read from a sorted set
+ * instead of grouping the appointment table on every request.
+ * Like the procedures it replaces, every appointment counts as a patient seen; completed ones are also counted apart.
+ */
+@Component
+public class DoctorPatientRollup {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorPatientRollup.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository archiveRepository;
+
+    // Updates share the read lock; warm-up takes the write lock to start buffering and to swap in its counts
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // YearMonth or Year -> leaderboard of that period
+    private volatile Map<Temporal, Board> boards = new ConcurrentHashMap<>();
+
+    // Changes made while warm-up is loading, replayed onto the loaded counts; null when not loading
+    private Queue<Delta> pending;
+
+    public DoctorPatientRollup(AppointmentRepository appointmentRepository,
+                               AppointmentArchiveRepository archiveRepository) {
+        this.appointmentRepository = appointmentRepository;
+        this.archiveRepository = archiveRepository;
+    }
+
+    /**
+     * Load the counts of every month that has appointments, hot or archived.
+     * Archiving moves rows between the tables without changing the counts.
+     * The counts are built apart and swapped in, replacing changes the queries already include;
+     * changes committed while they run are buffered and applied on top.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        lock.writeLock().lock();
+        try {
+            pending = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Temporal, Board> loaded = new ConcurrentHashMap<>();
+        List<Object[]> rows = new ArrayList<>(appointmentRepository.countByDoctorAndMonth());
+        rows.addAll(archiveRepository.countByDoctorAndMonth());
+        for (Object[] row : rows) {
+            YearMonth month = YearMonth.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+            long appointments = ((Number) row[3]).longValue();
+            long completed = row[4] != null ? ((Number) row[4]).longValue() : 0;
+            add(loaded, new Delta((Long) row[0], month, appointments, completed));
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = pending.size();
+            for (Delta delta : pending) {
+                add(loaded, delta);
+            }
+            pending = null;
+            boards = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Doctor patient rollups warmed with {} doctor-month rows and {} changes made while loading",
+                    rows.size(), replayed);
+    }
+
+    /**
+     * Count a new appointment
+     * @param doctorId the doctor ID
+     * @param appointmentTime the appointment start time
+     * @param status the appointment status (1 = completed)
+     */
+    public void booked(Long doctorId, LocalDateTime appointmentTime, int status) {
+        add(doctorId, YearMonth.from(appointmentTime), 1, status == 1 ? 1 : 0);
+    }
+
+    /**
+     * Stop counting a removed appointment
+     * @param doctorId the doctor ID
+     * @param appointmentTime the appointment start time
+     * @param status the appointment status (1 = completed)
+     */
+    public void cancelled(Long doctorId, LocalDateTime appointmentTime, int status) {
+        add(doctorId, YearMonth.from(appointmentTime), -1, status == 1 ? -1 : 0);
+    }
+
+    /**
+     * Move an appointment to another time, and possibly another month
+     * @param doctorId the doctor ID
+     * @param from the previous start time
+     * @param to the new start time
+     * @param status the appointment status (1 = completed)
+     */
+    public void moved(Long doctorId, LocalDateTime from, LocalDateTime to, int status) {
+        if (!YearMonth.from(from).equals(YearMonth.from(to))) {
+            cancelled(doctorId, from, status);
+            booked(doctorId, to, status);
+        }
+    }
+
+    /**
+     * Record a status change of an appointment
+     * @param doctorId the doctor ID
+     * @param appointmentTime the appointment start time
+     * @param oldStatus the previous status
+     * @param newStatus the new status
+     */
+    public void statusChanged(Long doctorId, LocalDateTime appointmentTime, int oldStatus, int newStatus) {
+        int completed = (newStatus == 1 ? 1 : 0) - (oldStatus == 1 ? 1 : 0);
+        if (completed != 0) {
+            add(doctorId, YearMonth.from(appointmentTime), 0, completed);
+        }
+    }
+
+    /**
+     * Get the doctors with the most patients in a month
+     * @param month the month
+     * @param limit the number of doctors to return
+     * @return up to limit doctors, most patients first (ties broken by doctor ID)
+     */
+    public List<DoctorCount> top(YearMonth month, int limit) {
+        Board board = boards.get(month);
+        return board != null ? board.top(limit) : List.of();
+    }
+
+    /**
+     * Get the doctors with the most patients in a year
+     * @param year the year
+     * @param limit the number of doctors to return
+     * @return up to limit doctors, most patients first (ties broken by doctor ID)
+     */
+    public List<DoctorCount> top(Year year, int limit) {
+        Board board = boards.get(year);
+        return board != null ? board.top(limit) : List.of();
+    }
+
+    private void add(Long doctorId, YearMonth month, long appointments, long completed) {
+        Delta delta = new Delta(doctorId, month, appointments, completed);
+        lock.readLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(delta);
+            } else {
+                add(boards, delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void add(Map<Temporal, Board> boards, Delta delta) {
+        boards.computeIfAbsent(delta.month(), key -> new Board()).add(delta.doctorId(), delta.appointments(), delta.completed());
+        boards.computeIfAbsent(Year.of(delta.month().getYear()), key -> new Board())
+              .add(delta.doctorId(), delta.appointments(), delta.completed());
+    }
+
+    /**
+     * A doctor's counts in one period
+     * @param doctorId the doctor ID
+     * @param patients appointments in the period
+     * @param completed completed appointments in the period
+     */
+    public record DoctorCount(Long doctorId, long patients, long completed) {}
+
+    // A change to one doctor's counts in one month
+    private record Delta(Long doctorId, YearMonth month, long appointments, long completed) {}
+
+    private static final Comparator<DoctorCount> RANKING =
+            Comparator.comparingLong(DoctorCount::patients).reversed().thenComparing(DoctorCount::doctorId);
+
+    // One period's counts per doctor, kept sorted by patients; updates re-position a single doctor
+    private static final class Board {
+
+        private final Map<Long, DoctorCount> byDoctor = new HashMap<>();
+        private final TreeSet<DoctorCount> ranked = new TreeSet<>(RANKING);
+
+        synchronized void add(Long doctorId, long appointments, long completed) {
+            DoctorCount current = byDoctor.get(doctorId);
+            if (current != null) {
+                ranked.remove(current);
+            }
+            DoctorCount updated = current == null
+                    ? new DoctorCount(doctorId, appointments, completed)
+                    : new DoctorCount(doctorId, current.patients() + appointments, current.completed() + completed);
+            if (updated.patients() > 0) {
+                byDoctor.put(doctorId, updated);
+                ranked.add(updated);
+            } else {
+                byDoctor.remove(doctorId);
+            }
+        }
+
+        synchronized List<DoctorCount> top(int limit) {
+            List<DoctorCount> top = new ArrayList<>(Math.min(limit, ranked.size()));
+            Iterator<DoctorCount> iterator = ranked.iterator();
+            while (top.size() < limit && iterator.hasNext()) {
+                top.add(iterator.next());
+            }
+            return top;
+        }
+    }
+}
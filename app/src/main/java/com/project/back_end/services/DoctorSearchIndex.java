@@ -0,0 +1,228 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over doctors for the name/specialty/time filters.
+ * Every doctor gets a dense position so candidate sets are BitSets:
+ * name substrings are matched through a trigram index, specialties through an inverted index,
+ * and AM/PM availability through one bitmap each. Filters are combined with BitSet AND.
+ */
+@Component
+public class DoctorSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorSearchIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+    private static final BitSet NONE = new BitSet();
+
+    private final DoctorRepository doctorRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // doctorId -> position, and position -> indexed doctor (null once freed)
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Deque<Integer> freePositions = new ArrayDeque<>();
+    private final BitSet indexed = new BitSet();
+
+    private final Map<String, BitSet> byTrigram = new HashMap<>();
+    private final Map<String, BitSet> bySpecialty = new HashMap<>();
+    private final BitSet availableAm = new BitSet();
+    private final BitSet availablePm = new BitSet();
+
+    public DoctorSearchIndex(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    /**
+     * Index every doctor along with their schedule
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        List<Doctor> doctors = doctorRepository.findAll();
+        for (Doctor doctor : doctors) {
+            // Batch fetched, and loaded here so the detached copy can be served later
+            Hibernate.initialize(doctor.getAvailableTimes());
+            put(doctor);
+        }
+        logger.info("Doctor search index warmed with {} doctors", doctors.size());
+    }
+
+    /**
+     * Add a doctor, or re-index them if already present
+     * @param doctor the doctor, with available times loaded
+     */
+    public void put(Doctor doctor) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(doctor.getId());
+            int position = freePositions.isEmpty() ? entries.size() : freePositions.pop();
+            Entry entry = new Entry(doctor, normalize(doctor.getName()), normalize(doctor.getSpecialty()));
+            if (position == entries.size()) {
+                entries.add(entry);
+            } else {
+                entries.set(position, entry);
+            }
+            positions.put(doctor.getId(), position);
+            indexed.set(position);
+
+            for (String gram : trigrams(entry.name())) {
+                byTrigram.computeIfAbsent(gram, g -> new BitSet()).set(position);
+            }
+            bySpecialty.computeIfAbsent(entry.specialty(), s -> new BitSet()).set(position);
+            availableAm.set(position, hasRange(doctor, true));
+            availablePm.set(position, hasRange(doctor, false));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a doctor
+     * @param doctorId the doctor ID
+     */
+    public void remove(Long doctorId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(doctorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find doctors matching every given filter; blank filters and time periods other than AM/PM are ignored
+     * @param name substring of the name (case-insensitive), or null
+     * @param specialty the specialty (case-insensitive), or null
+     * @param time the time period (AM/PM, case-insensitive), or null
+     * @return matching doctors ordered by ID
+     */
+    public List<Doctor> search(String name, String specialty, String time) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) indexed.clone();
+            if (!isBlank(specialty)) {
+                candidates.and(bySpecialty.getOrDefault(normalize(specialty), NONE));
+            }
+            BitSet period = periodIndex(time);
+            if (period != null) {
+                candidates.and(period);
+            }
+            String needle = isBlank(name) ? null : normalize(name);
+            if (needle != null) {
+                for (String gram : trigrams(needle)) {
+                    candidates.and(byTrigram.getOrDefault(gram, NONE));
+                }
+            }
+
+            List<Doctor> doctors = new ArrayList<>(candidates.cardinality());
+            for (int position = candidates.nextSetBit(0); position >= 0; position = candidates.nextSetBit(position + 1)) {
+                Entry entry = entries.get(position);
+                // Trigrams only narrow the candidates; confirm the substring (and handle needles under 3 chars)
+                if (needle == null || entry.name().contains(needle)) {
+                    doctors.add(entry.doctor());
+                }
+            }
+            doctors.sort(Comparator.comparing(Doctor::getId));
+            return doctors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long doctorId) {
+        Integer position = positions.remove(doctorId);
+        if (position == null) {
+            return;
+        }
+        Entry entry = entries.get(position);
+        for (String gram : trigrams(entry.name())) {
+            clear(byTrigram, gram, position);
+        }
+        clear(bySpecialty, entry.specialty(), position);
+        availableAm.clear(position);
+        availablePm.clear(position);
+        indexed.clear(position);
+        entries.set(position, null);
+        freePositions.push(position);
+    }
+
+    private static void clear(Map<String, BitSet> index, String key, int position) {
+        BitSet bits = index.get(key);
+        if (bits != null) {
+            bits.clear(position);
+            if (bits.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    // Same rule as the SQL filter: AM if a range starts before noon, PM if one ends after noon
+    private static boolean hasRange(Doctor doctor, boolean am) {
+        List<AvailableTime> availableTimes = doctor.getAvailableTimes();
+        if (availableTimes == null) {
+            return false;
+        }
+        for (AvailableTime availableTime : availableTimes) {
+            if (am ? availableTime.getStartTime().isBefore(LocalTime.NOON)
+                   : availableTime.getEndTime().isAfter(LocalTime.NOON)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private BitSet periodIndex(String time) {
+        if (isBlank(time)) {
+            return null;
+        }
+        return switch (time.trim().toUpperCase(Locale.ROOT)) {
+            case "AM" -> availableAm;
+            case "PM" -> availablePm;
+            default -> null;
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private record Entry(Doctor doctor, String name, String specialty) {}
+}
@@ -4,34 +4,48 @@ import com.project.back_end.models.Doctor;
 import com.project.back_end.models.AvailableTime;
 import com.project.back_end.repo.DoctorRepository;
 import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.AppointmentArchiveRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.time.LocalTime;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+
+import static com.project.back_end.services.TransactionHooks.afterCommit;
 
 @Service
 public class DoctorService {
 
     private final DoctorRepository doctorRepository;
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository archiveRepository;
     private final TokenService tokenService;
+    private final DoctorAvailabilityCalendar availabilityCalendar;
+    private final DoctorSearchIndex doctorSearchIndex;
+    private final PatientAppointmentCache patientAppointments;
     private final com.project.back_end.services.Service serviceUtils;
 
     @Autowired
     public DoctorService(DoctorRepository doctorRepository, 
                         AppointmentRepository appointmentRepository,
+                        AppointmentArchiveRepository archiveRepository,
                         TokenService tokenService,
+                        DoctorAvailabilityCalendar availabilityCalendar,
+                        DoctorSearchIndex doctorSearchIndex,
+                        PatientAppointmentCache patientAppointments,
                         com.project.back_end.services.Service serviceUtils) {
         this.doctorRepository = doctorRepository;
         this.appointmentRepository = appointmentRepository;
+        this.archiveRepository = archiveRepository;
         this.tokenService = tokenService;
+        this.availabilityCalendar = availabilityCalendar;
+        this.doctorSearchIndex = doctorSearchIndex;
+        this.patientAppointments = patientAppointments;
         this.serviceUtils = serviceUtils;
     }
 
@@ -67,6 +81,17 @@ public class DoctorService {
         }
     }
 
+    /**
+     * Get the doctor's available times that are still free on a given day.
+     * Served from the in-memory availability calendar without querying the database.
+     * @param doctorId the ID of the doctor
+     * @param date the day to check
+     * @return list of free time slots such as "09:00-10:00"
+     */
+    public List<String> getDoctorAvailability(Long doctorId, LocalDate date) {
+        return availabilityCalendar.getAvailableTimes(doctorId, date);
+    }
+
     /**
      * Save a new doctor
      * @param doctor the doctor to save
@@ -95,6 +120,11 @@ public class DoctorService {
             }
             
             Doctor savedDoctor = doctorRepository.save(doctor);
+            List<AvailableTime> schedule = List.copyOf(savedDoctor.getAvailableTimes());
+            afterCommit(() -> {
+                availabilityCalendar.setAvailableTimes(savedDoctor.getId(), schedule);
+                doctorSearchIndex.put(savedDoctor);
+            });
             return serviceUtils.createSuccessResponse("Doctor saved successfully", savedDoctor);
             
         } catch (Exception e) {
@@ -123,7 +153,9 @@ public class DoctorService {
             Doctor existingDoctor = existingDoctorOpt.get();
             
             // Update fields if provided
+            boolean renamed = false;
             if (doctor.getName() != null && !doctor.getName().trim().isEmpty()) {
+                renamed = !doctor.getName().equals(existingDoctor.getName());
                 existingDoctor.setName(doctor.getName());
             }
             if (doctor.getSpecialty() != null && !doctor.getSpecialty().trim().isEmpty()) {
@@ -137,8 +169,21 @@ public class DoctorService {
                 }
                 existingDoctor.setEmail(doctor.getEmail());
             }
+            if (doctor.getAvailableTimes() != null && !doctor.getAvailableTimes().isEmpty()) {
+                existingDoctor.setAvailableTimes(doctor.getAvailableTimes());
+            }
             
             Doctor updatedDoctor = doctorRepository.save(existingDoctor);
+            List<AvailableTime> schedule = List.copyOf(updatedDoctor.getAvailableTimes());
+            boolean doctorRenamed = renamed;
+            afterCommit(() -> {
+                availabilityCalendar.setAvailableTimes(updatedDoctor.getId(), schedule);
+                doctorSearchIndex.put(updatedDoctor);
+                // Cached patient appointment lists carry the doctor's name; renames are rare
+                if (doctorRenamed) {
+                    patientAppointments.invalidateAll();
+                }
+            });
             return serviceUtils.createSuccessResponse("Doctor updated successfully", updatedDoctor);
             
         } catch (Exception e) {
@@ -151,10 +196,9 @@ public class DoctorService {
      * Get all doctors with their available times
      * @return ResponseEntity with list of doctors
      */
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getDoctors() {
         try {
-            List<Doctor> doctors = doctorRepository.findAllWithAvailableTimes();
+            List<Doctor> doctors = doctorSearchIndex.search(null, null, null);
             return serviceUtils.createSuccessResponse("Doctors retrieved successfully", doctors);
             
         } catch (Exception e) {
@@ -176,13 +220,18 @@ public class DoctorService {
             }
             
             // Check if doctor has any appointments
-            boolean hasAppointments = appointmentRepository.existsByDoctorId(id);
+            boolean hasAppointments = appointmentRepository.existsByDoctorId(id)
+                    || archiveRepository.existsByDoctorId(id);
             if (hasAppointments) {
                 return serviceUtils.createErrorResponse("Cannot delete doctor with existing appointments", 
                                                       HttpStatus.CONFLICT);
             }
             
             doctorRepository.deleteById(id);
+            afterCommit(() -> {
+                availabilityCalendar.removeDoctor(id);
+                doctorSearchIndex.remove(id);
+            });
             return serviceUtils.createSuccessResponse("Doctor deleted successfully", null);
             
         } catch (Exception e) {
@@ -235,14 +284,13 @@ public class DoctorService {
      * @param name the name to search for
      * @return ResponseEntity with matching doctors
      */
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> findDoctorByName(String name) {
         try {
             if (name == null || name.trim().isEmpty()) {
                 return serviceUtils.createErrorResponse("Name parameter is required", HttpStatus.BAD_REQUEST);
             }
             
-            List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCase(name.trim());
+            List<Doctor> doctors = doctorSearchIndex.search(name, null, null);
             return serviceUtils.createSuccessResponse("Doctors found successfully", doctors);
             
         } catch (Exception e) {
@@ -258,11 +306,9 @@ public class DoctorService {
      * @param time the time period (AM/PM)
      * @return ResponseEntity with filtered doctors
      */
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> filterDoctorsByNameSpecialtyAndTime(String name, String specialty, String time) {
         try {
-            List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
-            List<Doctor> filteredDoctors = filterDoctorsByTime(doctors, time);
+            List<Doctor> filteredDoctors = doctorSearchIndex.search(name, specialty, time);
             
             return serviceUtils.createSuccessResponse("Doctors filtered successfully", filteredDoctors);
             
@@ -272,54 +318,15 @@ public class DoctorService {
         }
     }
 
-    /**
-     * Filter doctors by time availability
-     * @param doctors the list of doctors to filter
-     * @param time the time period (AM/PM)
-     * @return filtered list of doctors
-     */
-    private List<Doctor> filterDoctorsByTime(List<Doctor> doctors, String time) {
-        if (time == null || time.trim().isEmpty()) {
-            return doctors;
-        }
-        
-        boolean isAM = time.trim().equalsIgnoreCase("AM");
-        
-        return doctors.stream()
-            .filter(doctor -> {
-                List<AvailableTime> availableTimes = doctor.getAvailableTimes();
-                if (availableTimes == null || availableTimes.isEmpty()) {
-                    return false;
-                }
-                
-                return availableTimes.stream()
-                    .anyMatch(availableTime -> {
-                        LocalTime startTime = availableTime.getStartTime();
-                        LocalTime endTime = availableTime.getEndTime();
-                        
-                        if (isAM) {
-                            // Check if any time slot is in AM (before 12:00)
-                            return startTime.isBefore(LocalTime.NOON) || endTime.isBefore(LocalTime.NOON);
-                        } else {
-                            // Check if any time slot is in PM (after 12:00)
-                            return startTime.isAfter(LocalTime.NOON) || endTime.isAfter(LocalTime.NOON);
-                        }
-                    });
-            })
-            .collect(Collectors.toList());
-    }
-
     /**
      * Filter doctors by name and time
      * @param name the name pattern
      * @param time the time period (AM/PM)
      * @return ResponseEntity with filtered doctors
      */
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> filterDoctorByNameAndTime(String name, String time) {
         try {
-            List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCase(name);
-            List<Doctor> filteredDoctors = filterDoctorsByTime(doctors, time);
+            List<Doctor> filteredDoctors = doctorSearchIndex.search(name, null, time);
             
             return serviceUtils.createSuccessResponse("Doctors filtered by name and time successfully", filteredDoctors);
             
@@ -335,10 +342,9 @@ public class DoctorService {
      * @param specialty the specialty
      * @return ResponseEntity with filtered doctors
      */
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> filterDoctorByNameAndSpecialty(String name, String specialty) {
         try {
-            List<Doctor> doctors = doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
+            List<Doctor> doctors = doctorSearchIndex.search(name, specialty, null);
             return serviceUtils.createSuccessResponse("Doctors filtered by name and specialty successfully", doctors);
             
         } catch (Exception e) {
@@ -353,11 +359,9 @@ public class DoctorService {
      * @param time the time period (AM/PM)
      * @return ResponseEntity with filtered doctors
      */
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> filterDoctorByTimeAndSpecialty(String specialty, String time) {
         try {
-            List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specialty);
-            List<Doctor> filteredDoctors = filterDoctorsByTime(doctors, time);
+            List<Doctor> filteredDoctors = doctorSearchIndex.search(null, specialty, time);
             
             return serviceUtils.createSuccessResponse("Doctors filtered by specialty and time successfully", filteredDoctors);
             
@@ -372,10 +376,9 @@ public class DoctorService {
      * @param specialty the specialty
      * @return ResponseEntity with filtered doctors
      */
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> filterDoctorBySpecialty(String specialty) {
         try {
-            List<Doctor> doctors = doctorRepository.findBySpecialtyIgnoreCase(specialty);
+            List<Doctor> doctors = doctorSearchIndex.search(null, specialty, null);
             return serviceUtils.createSuccessResponse("Doctors filtered by specialty successfully", doctors);
             
         } catch (Exception e) {
@@ -389,11 +392,9 @@ public class DoctorService {
      * @param time the time period (AM/PM)
      * @return ResponseEntity with filtered doctors
      */
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> filterDoctorsByTime(String time) {
         try {
-            List<Doctor> allDoctors = doctorRepository.findAllWithAvailableTimes();
-            List<Doctor> filteredDoctors = filterDoctorsByTime(allDoctors, time);
+            List<Doctor> filteredDoctors = doctorSearchIndex.search(null, null, time);
             
             return serviceUtils.createSuccessResponse("Doctors filtered by time successfully", filteredDoctors);
             
@@ -0,0 +1,88 @@
+package com.project.back_end.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.repo.AppointmentArchiveRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Each patient's full appointment list, hot and archived, as list rows, newest first.
+ * A patient has few appointments, so the list is loaded once with one indexed query per table
+ * and the patient's filters (condition, doctor name) are applied to it in memory.
+ * AppointmentService invalidates a patient's list after every committed booking, update, status change or cancellation.
+ */
+@Component
+public class PatientAppointmentCache {
+
+    private static final Comparator<AppointmentDTO> NEWEST_FIRST =
+            Comparator.comparing(AppointmentDTO::getAppointmentTime).thenComparing(AppointmentDTO::getId).reversed();
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository archiveRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Read-through cache: patient ID -> the patient's appointments (immutable)
+    private final Cache<Long, List<AppointmentDTO>> appointmentsByPatient;
+
+    public PatientAppointmentCache(AppointmentRepository appointmentRepository,
+                                   AppointmentArchiveRepository archiveRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${appointment.patient-cache.max-size:10000}") long cacheMaxSize,
+                                   @Value("${appointment.patient-cache.expire-minutes:10}") long cacheExpireMinutes) {
+        this.appointmentRepository = appointmentRepository;
+        this.archiveRepository = archiveRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.appointmentsByPatient = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            // Bounds staleness when another instance changes the patient's appointments
+            .expireAfterWrite(Duration.ofMinutes(cacheExpireMinutes))
+            .build();
+    }
+
+    /**
+     * Get a patient's appointments, loading them on a miss
+     * @param patientId the patient ID
+     * @return the patient's appointments, newest first
+     */
+    public List<AppointmentDTO> get(Long patientId) {
+        return appointmentsByPatient.get(patientId, this::load);
+    }
+
+    /**
+     * Drop a patient's list after their appointments changed
+     * @param patientId the patient ID
+     */
+    public void invalidate(Long patientId) {
+        appointmentsByPatient.invalidate(patientId);
+    }
+
+    /**
+     * Drop every list, e.g. after a doctor was renamed
+     */
+    public void invalidateAll() {
+        appointmentsByPatient.invalidateAll();
+    }
+
+    // Both tables are read in one transaction; a row archived meanwhile is kept once
+    private List<AppointmentDTO> load(Long patientId) {
+        return readOnlyTransaction.execute(status -> {
+            List<AppointmentDTO> rows = new ArrayList<>(appointmentRepository.findPatientAppointmentViews(patientId));
+            rows.addAll(archiveRepository.findPatientAppointmentViews(patientId));
+            Set<Long> seen = new HashSet<>();
+            return rows.stream().filter(row -> seen.add(row.getId())).sorted(NEWEST_FIRST).toList();
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentArchiveRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Patients each doctor has appointments with, for patient-name autocomplete on the doctor dashboard.
+ * Every doctor's patients are indexed by the words of their search key (see Patient.searchKey) in a sorted map,
+ * so a partial name is answered with one range scan per typed word instead of a LIKE over the appointment table.
+ * Loaded with one aggregate query per table at startup and adjusted as appointments are booked or cancelled;
+ * archiving moves appointments between the tables without changing who a doctor has seen.
+ */
+@Component
+public class PatientAutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientAutocompleteIndex.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository archiveRepository;
+
+    // Doctor ID -> that doctor's patients
+    private final Map<Long, DoctorPatients> byDoctor = new ConcurrentHashMap<>();
+
+    public PatientAutocompleteIndex(AppointmentRepository appointmentRepository,
+                                    AppointmentArchiveRepository archiveRepository) {
+        this.appointmentRepository = appointmentRepository;
+        this.archiveRepository = archiveRepository;
+    }
+
+    /**
+     * Load every doctor's patients, hot or archived
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Object[]> rows = new ArrayList<>(appointmentRepository.countByDoctorAndPatient());
+        rows.addAll(archiveRepository.countByDoctorAndPatient());
+        for (Object[] row : rows) {
+            add((Long) row[0], (Long) row[1], (String) row[2], ((Number) row[3]).longValue());
+        }
+        logger.info("Patient autocomplete warmed with {} doctor-patient rows", rows.size());
+    }
+
+    /**
+     * Record a new appointment
+     * @param doctorId the doctor ID
+     * @param patientId the patient ID
+     * @param patientName the patient's name
+     */
+    public void booked(Long doctorId, Long patientId, String patientName) {
+        add(doctorId, patientId, patientName, 1);
+    }
+
+    /**
+     * Forget a removed appointment; the patient is dropped with their last appointment
+     * @param doctorId the doctor ID
+     * @param patientId the patient ID
+     */
+    public void cancelled(Long doctorId, Long patientId) {
+        DoctorPatients patients = byDoctor.get(doctorId);
+        if (patients != null) {
+            patients.add(patientId, null, -1);
+        }
+    }
+
+    /**
+     * Find a doctor's patients whose name has a word starting with each word of the prefix
+     * @param doctorId the doctor ID
+     * @param prefix the partial name, any case and accents
+     * @param limit the number of patients to return
+     * @return up to limit patients, most appointments first (ties broken by name, then patient ID)
+     */
+    public List<PatientMatch> suggest(Long doctorId, String prefix, int limit) {
+        DoctorPatients patients = byDoctor.get(doctorId);
+        String key = Patient.searchKey(prefix);
+        if (patients == null || key.isEmpty()) {
+            return List.of();
+        }
+        return patients.suggest(key.split(" "), limit);
+    }
+
+    private void add(Long doctorId, Long patientId, String patientName, long appointments) {
+        byDoctor.computeIfAbsent(doctorId, key -> new DoctorPatients()).add(patientId, patientName, appointments);
+    }
+
+    /**
+     * A patient matching an autocomplete prefix
+     * @param patientId the patient ID
+     * @param name the patient's name
+     * @param appointments the patient's appointments with the doctor
+     */
+    public record PatientMatch(Long patientId, String name, long appointments) {}
+
+    private static final Comparator<PatientMatch> RANKING = Comparator.comparingLong(PatientMatch::appointments).reversed()
+            .thenComparing(PatientMatch::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(PatientMatch::patientId);
+
+    // One doctor's patients: counts per patient and patient IDs per search key word
+    private static final class DoctorPatients {
+
+        private final Map<Long, PatientMatch> patients = new HashMap<>();
+        private final TreeMap<String, Set<Long>> words = new TreeMap<>();
+
+        synchronized void add(Long patientId, String name, long appointments) {
+            PatientMatch current = patients.get(patientId);
+            if (current != null) {
+                unindex(current);
+            }
+            String updatedName = name != null ? name : current != null ? current.name() : null;
+            long count = (current != null ? current.appointments() : 0) + appointments;
+            if (count > 0 && updatedName != null) {
+                PatientMatch updated = new PatientMatch(patientId, updatedName, count);
+                patients.put(patientId, updated);
+                for (String word : Patient.searchKey(updatedName).split(" ")) {
+                    words.computeIfAbsent(word, key -> new HashSet<>()).add(patientId);
+                }
+            } else {
+                patients.remove(patientId);
+            }
+        }
+
+        synchronized List<PatientMatch> suggest(String[] prefixWords, int limit) {
+            Set<Long> matches = null;
+            for (String prefix : prefixWords) {
+                // Every indexed word starting with the prefix sorts between it and prefix + the highest char
+                Set<Long> wordMatches = new HashSet<>();
+                words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(wordMatches::addAll);
+                if (matches == null) {
+                    matches = wordMatches;
+                } else {
+                    matches.retainAll(wordMatches);
+                }
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return matches.stream().map(patients::get).sorted(RANKING).limit(limit).toList();
+        }
+
+        private void unindex(PatientMatch patient) {
+            for (String word : Patient.searchKey(patient.name()).split(" ")) {
+                Set<Long> ids = words.get(word);
+                if (ids != null) {
+                    ids.remove(patient.patientId());
+                    if (ids.isEmpty()) {
+                        words.remove(word);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Computes Patient.searchName for rows created before the column existed (migration V5).
+ * Patients are loaded in chunks, one short transaction each, and the updates go out as JDBC batches.
+ * Rows without a key are found through idx_patient_search_name, so once every row has one
+ * this is a single index lookup on startup rather than a scan of patient.
+ */
+@Component
+public class PatientSearchNameBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientSearchNameBackfill.class);
+
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${patient.search-name.backfill-chunk-size:500}")
+    private int chunkSize;
+
+    public PatientSearchNameBackfill(PatientRepository patientRepository, PlatformTransactionManager transactionManager) {
+        this.patientRepository = patientRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Fill in every missing search key
+     * @return the number of patients updated
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public long backfill() {
+        long updated = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Patient> patients = patientRepository.findBySearchNameIsNull(PageRequest.of(0, chunkSize));
+                patients.forEach(Patient::updateSearchName);
+                return patients.size();
+            });
+            if (count == null || count == 0) {
+                break;
+            }
+            updated += count;
+        }
+        if (updated > 0) {
+            logger.info("Backfilled search names of {} patients", updated);
+        }
+        return updated;
+    }
+}
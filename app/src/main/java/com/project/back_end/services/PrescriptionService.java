@@ -1,49 +1,137 @@
-
 package com.project.back_end.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.project.back_end.models.Prescription;
 import com.project.back_end.repo.PrescriptionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
-import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PrescriptionService {
     private final PrescriptionRepository prescriptionRepository;
+    private final ObjectMapper objectMapper;
+    private final int batchMaxSize;
 
-    public PrescriptionService(PrescriptionRepository prescriptionRepository) {
+    // Read-through cache: appointment ID -> prescription (empty if none yet), invalidated on save
+    private final Cache<Long, Optional<Prescription>> prescriptionsByAppointment;
+
+    public PrescriptionService(PrescriptionRepository prescriptionRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${prescription.cache.max-size:10000}") long cacheMaxSize,
+                               @Value("${prescription.cache.expire-minutes:10}") long cacheExpireMinutes,
+                               @Value("${prescription.batch-max-size:500}") int batchMaxSize) {
         this.prescriptionRepository = prescriptionRepository;
+        this.objectMapper = objectMapper;
+        this.batchMaxSize = batchMaxSize;
+        this.prescriptionsByAppointment = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            // Bounds staleness when another instance saves the prescription
+            .expireAfterWrite(Duration.ofMinutes(cacheExpireMinutes))
+            .build();
     }
 
     // Save a new prescription for an appointment
     public ResponseEntity<?> savePrescription(Prescription prescription) {
         try {
-            List<Prescription> existing = prescriptionRepository.findByAppointmentId(prescription.getAppointmentId());
-            if (existing != null && !existing.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Prescription already exists for this appointment.");
-            }
-            prescriptionRepository.save(prescription);
+            // The unique index on appointmentId rejects a second prescription, no lookup needed
+            prescriptionRepository.insert(prescription);
             return ResponseEntity.status(HttpStatus.CREATED).body("Prescription saved successfully.");
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Prescription already exists for this appointment.");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error saving prescription: " + e.getMessage());
+        } finally {
+            invalidate(prescription.getAppointmentId());
         }
     }
 
     // Retrieve prescription by appointment ID
     public ResponseEntity<?> getPrescription(Long appointmentId) {
         try {
-            List<Prescription> prescriptions = prescriptionRepository.findByAppointmentId(appointmentId);
-            if (prescriptions == null || prescriptions.isEmpty()) {
+            Optional<Prescription> prescription = findPrescription(appointmentId);
+            if (prescription.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No prescription found for this appointment.");
             }
             Map<String, Object> result = new HashMap<>();
-            result.put("prescription", prescriptions.get(0));
+            result.put("prescription", prescription.get());
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error retrieving prescription: " + e.getMessage());
         }
     }
+
+    /**
+     * Retrieve the prescriptions of several appointments (e.g. a doctor's day) with one $in query.
+     * Results are written to the response as a JSON array while the Mongo cursor is read,
+     * and warm the lookup cache on the way. Appointments without a prescription are left out.
+     * @param appointmentIds the appointment IDs
+     * @return ResponseEntity streaming the prescriptions, or an error message
+     */
+    public ResponseEntity<?> getPrescriptions(List<Long> appointmentIds) {
+        if (appointmentIds == null || appointmentIds.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("No appointment IDs provided.");
+        }
+        Set<Long> ids = appointmentIds.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.size() > batchMaxSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("At most " + batchMaxSize + " appointment IDs can be requested at once.");
+        }
+
+        StreamingResponseBody body = out -> {
+            try (Stream<Prescription> prescriptions = prescriptionRepository.findByAppointmentIdIn(ids);
+                 JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                for (Prescription prescription : (Iterable<Prescription>) prescriptions::iterator) {
+                    prescriptionsByAppointment.put(prescription.getAppointmentId(), Optional.of(prescription));
+                    json.writeObject(prescription);
+                }
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Drop the cached lookup of an appointment, e.g. after its prescription was saved elsewhere
+     * @param appointmentId the appointment ID
+     */
+    void invalidate(Long appointmentId) {
+        prescriptionsByAppointment.invalidate(appointmentId);
+    }
+
+    /**
+     * @return the largest number of appointments whose prescriptions can be fetched in one request
+     */
+    int getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    /**
+     * Find the prescription of an appointment, loading it into the cache on a miss
+     * @param appointmentId the appointment ID
+     * @return the prescription, or empty if none has been saved
+     */
+    private Optional<Prescription> findPrescription(Long appointmentId) {
+        return prescriptionsByAppointment.get(appointmentId, prescriptionRepository::findByAppointmentId);
+    }
 }
@@ -0,0 +1,99 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.ReactivePrescriptionRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking version of PrescriptionService on the reactive Mongo driver.
+ * No request thread waits on Mongo, so prescription traffic scales with in-flight requests
+ * rather than with the servlet thread pool. Enabled with prescription.reactive.enabled=true.
+ */
+@Service
+@ConditionalOnProperty(name = "prescription.reactive.enabled", havingValue = "true")
+public class ReactivePrescriptionService {
+
+    private final ReactivePrescriptionRepository prescriptionRepository;
+    private final PrescriptionService prescriptionService;
+    private final AppointmentService appointmentService;
+
+    public ReactivePrescriptionService(ReactivePrescriptionRepository prescriptionRepository,
+                                       PrescriptionService prescriptionService,
+                                       AppointmentService appointmentService) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.prescriptionService = prescriptionService;
+        this.appointmentService = appointmentService;
+    }
+
+    /**
+     * Save a new prescription and mark its appointment as completed
+     * @param prescription the prescription
+     * @return 201 once saved, 400 if the appointment already has a prescription
+     */
+    public Mono<ResponseEntity<?>> savePrescription(Prescription prescription) {
+        return prescriptionRepository.insert(prescription)
+            // Appointments live in JPA, which blocks: keep it off the event loop
+            .flatMap(saved -> Mono.fromCallable(() -> appointmentService.changeStatus(saved.getAppointmentId(), 1))
+                .subscribeOn(Schedulers.boundedElastic()))
+            .<ResponseEntity<?>>map(updated -> ResponseEntity.status(HttpStatus.CREATED).body("Prescription saved successfully."))
+            .onErrorResume(DuplicateKeyException.class, e -> Mono.just(
+                ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Prescription already exists for this appointment.")))
+            .onErrorResume(e -> Mono.just(
+                ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error saving prescription: " + e.getMessage())))
+            // Shared with the blocking path, so its cache must not keep a stale miss
+            .doFinally(signal -> prescriptionService.invalidate(prescription.getAppointmentId()));
+    }
+
+    /**
+     * Retrieve the prescription of an appointment
+     * @param appointmentId the appointment ID
+     * @return 200 with the prescription, or 404 if there is none
+     */
+    public Mono<ResponseEntity<?>> getPrescription(Long appointmentId) {
+        return prescriptionRepository.findByAppointmentId(appointmentId)
+            .<ResponseEntity<?>>map(prescription -> {
+                Map<String, Object> result = new HashMap<>();
+                result.put("prescription", prescription);
+                return ResponseEntity.ok(result);
+            })
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("No prescription found for this appointment."))
+            .onErrorResume(e -> Mono.just(
+                ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error retrieving prescription: " + e.getMessage())));
+    }
+
+    /**
+     * Retrieve the prescriptions of several appointments with one $in query, emitted as they are read
+     * @param appointmentIds the appointment IDs
+     * @return the prescriptions; appointments without one are left out
+     * @throws ResponseStatusException 400 if no IDs or too many IDs are given
+     */
+    public Flux<Prescription> getPrescriptions(List<Long> appointmentIds) {
+        if (appointmentIds == null || appointmentIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No appointment IDs provided.");
+        }
+        Set<Long> ids = appointmentIds.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.size() > prescriptionService.getBatchMaxSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "At most " + prescriptionService.getBatchMaxSize() + " appointment IDs can be requested at once.");
+        }
+        return prescriptionRepository.findByAppointmentIdIn(ids);
+    }
+}
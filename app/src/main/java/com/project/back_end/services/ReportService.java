@@ -0,0 +1,192 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.DTO.DailyReportRow;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.AppointmentReportRepository;
+import com.project.back_end.repo.DoctorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ReportService {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String CSV_HEADER = "doctor_name,appointment_time,status,patient_name,patient_phone\r\n";
+    private static final DateTimeFormatter CSV_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final AppointmentReportRepository appointmentReportRepository;
+    private final DoctorRepository doctorRepository;
+    private final DoctorPatientRollup patientRollup;
+    private final ObjectMapper objectMapper;
+
+    @Value("${report.top-doctors.max-limit:100}")
+    private int topDoctorsMaxLimit;
+
+    public ReportService(AppointmentReportRepository appointmentReportRepository,
+                         DoctorRepository doctorRepository,
+                         DoctorPatientRollup patientRollup,
+                         ObjectMapper objectMapper) {
+        this.appointmentReportRepository = appointmentReportRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRollup = patientRollup;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stream the appointments of a day, grouped by doctor, as CSV or a JSON array.
+     * Rows are written as the database returns them, so the report is never held in memory.
+     * @param date the day (yyyy-MM-dd)
+     * @param format "csv" or "json"
+     * @return the streamed report, or 400 for an invalid date or format
+     */
+    public ResponseEntity<?> getDailyAppointmentReport(String date, String format) {
+        LocalDate reportDate;
+        try {
+            reportDate = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid date, expected yyyy-MM-dd.");
+        }
+
+        switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return ResponseEntity.ok()
+                    .contentType(TEXT_CSV)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"daily-appointments-" + reportDate + ".csv\"")
+                    .body(csv(reportDate));
+            case "json":
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json(reportDate));
+            default:
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Unsupported format, use csv or json.");
+        }
+    }
+
+    /**
+     * Get the doctors with the most patients in a month or a year, read from the in-memory rollups
+     * @param period the month (yyyy-MM) or year (yyyy)
+     * @param limit the number of doctors to return
+     * @return the period and its doctors, most patients first, or 400 for an invalid period or limit
+     */
+    public ResponseEntity<?> getTopDoctorsByPatients(String period, int limit) {
+        if (limit < 1 || limit > topDoctorsMaxLimit) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("Limit must be between 1 and " + topDoctorsMaxLimit + ".");
+        }
+
+        List<DoctorPatientRollup.DoctorCount> counts;
+        try {
+            counts = period.length() == 4
+                ? patientRollup.top(Year.parse(period), limit)
+                : patientRollup.top(YearMonth.parse(period), limit);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid period, expected yyyy-MM or yyyy.");
+        }
+
+        // Names of the ranked doctors in one query
+        Map<Long, Doctor> doctors = doctorRepository.findAllById(
+                counts.stream().map(DoctorPatientRollup.DoctorCount::doctorId).toList())
+            .stream().collect(Collectors.toMap(Doctor::getId, Function.identity()));
+
+        List<Map<String, Object>> ranked = new ArrayList<>(counts.size());
+        for (DoctorPatientRollup.DoctorCount count : counts) {
+            Doctor doctor = doctors.get(count.doctorId());
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("doctorId", count.doctorId());
+            entry.put("name", doctor != null ? doctor.getName() : null);
+            entry.put("patientsSeen", count.patients());
+            entry.put("completed", count.completed());
+            ranked.add(entry);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("period", period);
+        response.put("doctors", ranked);
+        return ResponseEntity.ok(response);
+    }
+
+    private StreamingResponseBody csv(LocalDate date) {
+        return out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writer.write(CSV_HEADER);
+            forEachRow(date, row -> {
+                writer.write(csvField(row.doctorName()));
+                writer.write(',');
+                writer.write(CSV_TIME.format(row.appointmentTime()));
+                writer.write(',');
+                writer.write(Integer.toString(row.status()));
+                writer.write(',');
+                writer.write(csvField(row.patientName()));
+                writer.write(',');
+                writer.write(csvField(row.patientPhone()));
+                writer.write("\r\n");
+            });
+            writer.flush();
+        };
+    }
+
+    private StreamingResponseBody json(LocalDate date) {
+        return out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                forEachRow(date, json::writeObject);
+                json.writeEndArray();
+            }
+        };
+    }
+
+    // Runs the query while writing; write failures (e.g. the client went away) end the query too
+    private void forEachRow(LocalDate date, RowWriter writer) throws IOException {
+        try {
+            appointmentReportRepository.forEachDailyReportRow(date, row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Quote fields containing separators, quotes or line breaks (RFC 4180)
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(DailyReportRow row) throws IOException;
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.back_end.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * In-memory set of revoked token IDs (the JWT "jti" claim), e.g. tokens of users who logged out.
+ * An entry is only needed until its token would have expired anyway, so it is dropped then.
+ */
+@Component
+public class TokenRevocationStore {
+
+    // token ID -> token expiry
+    private final Cache<String, Instant> revoked = Caffeine.newBuilder()
+        .expireAfter(new Expiry<String, Instant>() {
+            @Override
+            public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+                return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+                return expireAfterCreate(tokenId, expiresAt, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        })
+        .build();
+
+    /**
+     * Revoke a token
+     * @param tokenId the token ID
+     * @param expiresAt when the token expires
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId != null && expiresAt != null) {
+            revoked.put(tokenId, expiresAt);
+        }
+    }
+
+    /**
+     * Check whether a token has been revoked
+     * @param tokenId the token ID
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.getIfPresent(tokenId) != null;
+    }
+}
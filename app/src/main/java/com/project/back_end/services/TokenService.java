@@ -1,52 +1,193 @@
 package com.project.back_end.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
 @Component
 public class TokenService {
 
-    // Dummy implementation for demonstration; replace with real logic
+    // Tokens expire one week after they are issued
+    private static final Duration TOKEN_VALIDITY = Duration.ofDays(7);
+
+    private final UserDirectory userDirectory;
+    private final TokenRevocationStore revocationStore;
+    private final SecretKey signingKey;
+
+    // Verified token -> claims, so repeat requests skip the HMAC check.
+    // Entries expire together with the token they belong to.
+    private final Cache<String, TokenClaims> verifiedTokens;
+
+    public TokenService(UserDirectory userDirectory,
+                        TokenRevocationStore revocationStore,
+                        @Value("${jwt.secret}") String secret,
+                        @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.userDirectory = userDirectory;
+        this.revocationStore = revocationStore;
+        this.signingKey = getSigningKey(secret);
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfter(new Expiry<String, TokenClaims>() {
+                @Override
+                public long expireAfterCreate(String token, TokenClaims claims, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String token, TokenClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String token, TokenClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    /**
+     * Generate a signed JWT for a user, looking up the user ID for the given role
+     * @param identifier the user's email (username for admins)
+     * @param role admin, doctor or patient
+     * @return the signed token
+     */
+    public String generateToken(String identifier, String role) {
+        String normalizedRole = normalizeRole(role);
+        return generateToken(identifier, normalizedRole, userDirectory.findUserId(normalizedRole, identifier).orElse(null));
+    }
+
+    /**
+     * Generate a signed JWT for a user
+     * @param identifier the user's email (username for admins)
+     * @param role admin, doctor or patient
+     * @param userId the user's ID
+     * @return the signed token
+     */
+    public String generateToken(String identifier, String role, Long userId) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+            .id(UUID.randomUUID().toString())
+            .subject(identifier)
+            .claim("role", normalizeRole(role))
+            .claim("userId", userId)
+            .issuedAt(Date.from(now))
+            .expiration(Date.from(now.plus(TOKEN_VALIDITY)))
+            .signWith(signingKey)
+            .compact();
+    }
+
+    /**
+     * Extract the user's email (subject) from a token
+     * @param token the JWT
+     * @return the email, or null if the token is invalid
+     */
+    public String extractEmail(String token) {
+        TokenClaims claims = getClaims(token);
+        return claims != null ? claims.email() : null;
+    }
+
+    /**
+     * Check that a token is valid and belongs to an existing user with the given role
+     * @param token the JWT
+     * @param role admin, doctor or patient
+     * @return true if the token is valid for the role
+     */
     public boolean validateToken(String token, String role) {
-        // TODO: Implement actual JWT validation and role check
-        return token != null && !token.isEmpty() && role != null && !role.isEmpty();
-    }
-// 1. **@Component Annotation**
-// The @Component annotation marks this class as a Spring component, meaning Spring will manage it as a bean within its application context.
-// This allows the class to be injected into other Spring-managed components (like services or controllers) where it's needed.
-
-// 2. **Constructor Injection for Dependencies**
-// The constructor injects dependencies for `AdminRepository`, `DoctorRepository`, and `PatientRepository`,
-// allowing the service to interact with the database and validate users based on their role (admin, doctor, or patient).
-// Constructor injection ensures that the class is initialized with all required dependencies, promoting immutability and making the class testable.
-
-// 3. **getSigningKey Method**
-// This method retrieves the HMAC SHA key used to sign JWT tokens.
-// It uses the `jwt.secret` value, which is provided from an external source (like application properties).
-// The `Keys.hmacShaKeyFor()` method converts the secret key string into a valid `SecretKey` for signing and verification of JWTs.
-
-// 4. **generateToken Method**
-// This method generates a JWT token for a user based on their email.
-// - The `subject` of the token is set to the user's email, which is used as an identifier.
-// - The `issuedAt` is set to the current date and time.
-// - The `expiration` is set to 7 days from the issue date, ensuring the token expires after one week.
-// - The token is signed using the signing key generated by `getSigningKey()`, making it secure and tamper-proof.
-// The method returns the JWT token as a string.
-
-// 5. **extractEmail Method**
-// This method extracts the user's email (subject) from the provided JWT token.
-// - The token is first verified using the signing key to ensure it hasn’t been tampered with.
-// - After verification, the token is parsed, and the subject (which represents the email) is extracted.
-// This method allows the application to retrieve the user's identity (email) from the token for further use.
-
-// 6. **validateToken Method**
-// This method validates whether a provided JWT token is valid for a specific user role (admin, doctor, or patient).
-// - It first extracts the email from the token using the `extractEmail()` method.
-// - Depending on the role (`admin`, `doctor`, or `patient`), it checks the corresponding repository (AdminRepository, DoctorRepository, or PatientRepository)
-//   to see if a user with the extracted email exists.
-// - If a match is found for the specified user role, it returns true, indicating the token is valid.
-// - If the role or user does not exist, it returns false, indicating the token is invalid.
-// - The method gracefully handles any errors by returning false if the token is invalid or an exception occurs.
-// This ensures secure access control based on the user's role and their existence in the system.
+        TokenClaims claims = getClaims(token);
+        return claims != null && claims.role().equals(normalizeRole(role));
+    }
+
+    /**
+     * Verify a token and return its claims.
+     * The signature is checked once and then served from the cache; revocation and
+     * user existence are checked against in-memory sets on every call.
+     * @param token the JWT
+     * @return the verified claims, or null if the token is invalid, expired, revoked or its user doesn't exist
+     */
+    public TokenClaims getClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        TokenClaims claims = verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = verify(token);
+            if (claims == null) {
+                return null;
+            }
+            verifiedTokens.put(token, claims);
+        }
+        if (revocationStore.isRevoked(claims.tokenId()) || !userDirectory.contains(claims.role(), claims.email())) {
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Revoke a token, e.g. on logout
+     * @param token the JWT
+     * @return true if the token was valid and is now revoked
+     */
+    public boolean revokeToken(String token) {
+        TokenClaims claims = getClaims(token);
+        if (claims == null) {
+            return false;
+        }
+        revocationStore.revoke(claims.tokenId(), claims.expiresAt());
+        verifiedTokens.invalidate(token);
+        return true;
+    }
+
+    private TokenClaims verify(String token) {
+        try {
+            Claims claims = Jwts.parser()
+                .verifyWith(signingKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+
+            String email = claims.getSubject();
+            String role = claims.get("role", String.class);
+            if (email == null || role == null || claims.getExpiration() == null) {
+                return null;
+            }
 
+            // The user must still exist for the role the token was issued for
+            Optional<Long> userId = userDirectory.findUserId(role, email);
+            if (userId.isEmpty()) {
+                return null;
+            }
+            return new TokenClaims(claims.getId(), email, role, userId.get(), claims.getExpiration().toInstant());
+
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String normalizeRole(String role) {
+        return role == null ? "" : role.trim().toLowerCase();
+    }
+
+    private static SecretKey getSigningKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
 
+    /**
+     * Claims of a verified token
+     */
+    public record TokenClaims(String tokenId, String email, String role, Long userId, Instant expiresAt) {}
 }
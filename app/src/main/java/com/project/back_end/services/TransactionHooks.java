@@ -0,0 +1,31 @@
+package com.project.back_end.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for keeping in-memory indexes in step with database transactions.
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {}
+
+    /**
+     * Run an in-memory index update once the current transaction commits,
+     * so rolled back writes never reach the index.
+     * Runs immediately when no transaction is active.
+     * @param action the update to apply
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of existing users per role (admin usernames, doctor and patient emails).
+ * Lets token validation confirm that a user still exists without a database query.
+ * Kept up to date by UserDirectoryListener when Admin, Doctor or Patient rows are saved or deleted.
+ */
+@Component
+public class UserDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDirectory.class);
+
+    private final AdminRepository adminRepository;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+
+    // role -> users of that role
+    private final Map<String, Users> usersByRole = Map.of(
+            "admin", new Users(),
+            "doctor", new Users(),
+            "patient", new Users());
+
+    public UserDirectory(AdminRepository adminRepository,
+                         DoctorRepository doctorRepository,
+                         PatientRepository patientRepository) {
+        this.adminRepository = adminRepository;
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+    }
+
+    /**
+     * Load the ID and login identifier of every existing user
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        load("admin", adminRepository.findAllIdAndUsername());
+        load("doctor", doctorRepository.findAllIdAndEmail());
+        load("patient", patientRepository.findAllIdAndEmail());
+        logger.info("User directory warmed with {} admins, {} doctors, {} patients",
+                usersByRole.get("admin").size(), usersByRole.get("doctor").size(), usersByRole.get("patient").size());
+    }
+
+    /**
+     * Add a user, or update their identifier if the ID is already known
+     * @param role admin, doctor or patient
+     * @param userId the user ID
+     * @param identifier the username (admin) or email (doctor, patient)
+     */
+    public void put(String role, Long userId, String identifier) {
+        Users users = usersByRole.get(role);
+        if (users != null && userId != null) {
+            users.put(userId, identifier);
+        }
+    }
+
+    /**
+     * Remove a user
+     * @param role admin, doctor or patient
+     * @param userId the user ID
+     */
+    public void remove(String role, Long userId) {
+        Users users = usersByRole.get(role);
+        if (users != null && userId != null) {
+            users.remove(userId);
+        }
+    }
+
+    /**
+     * Look up the ID of an existing user
+     * @param role admin, doctor or patient
+     * @param identifier the username (admin) or email (doctor, patient)
+     * @return the user ID, or empty if no such user exists
+     */
+    public Optional<Long> findUserId(String role, String identifier) {
+        Users users = usersByRole.get(role);
+        if (users == null || identifier == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(users.idsByIdentifier.get(identifier));
+    }
+
+    /**
+     * Check whether a user exists
+     * @param role admin, doctor or patient
+     * @param identifier the username (admin) or email (doctor, patient)
+     * @return true if the user exists
+     */
+    public boolean contains(String role, String identifier) {
+        return findUserId(role, identifier).isPresent();
+    }
+
+    private void load(String role, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            put(role, (Long) row[0], (String) row[1]);
+        }
+    }
+
+    // Identifier and ID lookups for one role; writes are rare so they are simply synchronized
+    private static final class Users {
+        private final Map<String, Long> idsByIdentifier = new ConcurrentHashMap<>();
+        private final Map<Long, String> identifiersById = new ConcurrentHashMap<>();
+
+        synchronized void put(Long userId, String identifier) {
+            remove(userId);
+            if (identifier != null) {
+                idsByIdentifier.put(identifier, userId);
+                identifiersById.put(userId, identifier);
+            }
+        }
+
+        synchronized void remove(Long userId) {
+            String identifier = identifiersById.remove(userId);
+            if (identifier != null) {
+                idsByIdentifier.remove(identifier, userId);
+            }
+        }
+
+        int size() {
+            return identifiersById.size();
+        }
+    }
+}
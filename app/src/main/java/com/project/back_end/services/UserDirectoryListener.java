@@ -0,0 +1,50 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Admin;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import static com.project.back_end.services.TransactionHooks.afterCommit;
+
+/**
+ * JPA entity listener that keeps the UserDirectory in sync with Admin, Doctor and Patient saves and deletes.
+ * Hibernate obtains it from the Spring context, so it can be injected like any other bean.
+ */
+@Component
+public class UserDirectoryListener {
+
+    // Resolved lazily: the directory depends on repositories, which depend on this listener
+    private final ObjectProvider<UserDirectory> userDirectory;
+
+    public UserDirectoryListener(ObjectProvider<UserDirectory> userDirectory) {
+        this.userDirectory = userDirectory;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Admin admin) {
+            afterCommit(() -> userDirectory.getObject().put("admin", admin.getId(), admin.getUsername()));
+        } else if (entity instanceof Doctor doctor) {
+            afterCommit(() -> userDirectory.getObject().put("doctor", doctor.getId(), doctor.getEmail()));
+        } else if (entity instanceof Patient patient) {
+            afterCommit(() -> userDirectory.getObject().put("patient", patient.getId(), patient.getEmail()));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Admin admin) {
+            afterCommit(() -> userDirectory.getObject().remove("admin", admin.getId()));
+        } else if (entity instanceof Doctor doctor) {
+            afterCommit(() -> userDirectory.getObject().remove("doctor", doctor.getId()));
+        } else if (entity instanceof Patient patient) {
+            afterCommit(() -> userDirectory.getObject().remove("patient", patient.getId()));
+        }
+    }
+}
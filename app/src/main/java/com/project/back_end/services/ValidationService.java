@@ -1,20 +1,89 @@
 package com.project.back_end.services;
 
+import com.project.back_end.DTO.AppointmentDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 @Service("validationService")
 public class ValidationService {
     private final TokenService tokenService;
+    private final PatientAppointmentCache patientAppointments;
 
     @Autowired
-    public ValidationService(TokenService tokenService) {
+    public ValidationService(TokenService tokenService, PatientAppointmentCache patientAppointments) {
         this.tokenService = tokenService;
+        this.patientAppointments = patientAppointments;
     }
 
     public boolean validateToken(String token, String role) {
         return tokenService.validateToken(token, role);
     }
+
+    /**
+     * Log a user out by revoking their token
+     * @param token the JWT to revoke
+     * @return 200 if the token was revoked, 401 if it was already invalid
+     */
+    public ResponseEntity<Map<String, Object>> logout(String token) {
+        Map<String, Object> response = new HashMap<>();
+        if (!tokenService.revokeToken(token)) {
+            response.put("message", "Invalid or expired token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Filter the token owner's appointments by condition and doctor name.
+     * The patient's appointments come from PatientAppointmentCache, so every filter combination
+     * is evaluated in memory without a query per request.
+     * @param condition "past" (completed) or "future" (scheduled); blank or "null" for any
+     * @param name part of the doctor's name, any case; blank or "null" for any doctor
+     * @param token the patient's JWT
+     * @return ResponseEntity with the matching appointments, newest first
+     */
+    public ResponseEntity<Map<String, Object>> filterPatient(String condition, String name, String token) {
+        Map<String, Object> response = new HashMap<>();
+        TokenService.TokenClaims claims = tokenService.getClaims(token);
+        if (claims == null || claims.userId() == null) {
+            response.put("message", "Invalid or expired token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        Integer status = null;
+        if (isGiven(condition)) {
+            switch (condition.trim().toLowerCase(Locale.ROOT)) {
+                case "past" -> status = 1;
+                case "future" -> status = 0;
+                default -> {
+                    response.put("message", "Invalid condition, use past or future");
+                    return ResponseEntity.badRequest().body(response);
+                }
+            }
+        }
+        String doctorName = isGiven(name) ? name.trim().toLowerCase(Locale.ROOT) : null;
+
+        Integer wantedStatus = status;
+        List<AppointmentDTO> appointments = patientAppointments.get(claims.userId()).stream()
+            .filter(a -> wantedStatus == null || a.getStatus() == wantedStatus)
+            .filter(a -> doctorName == null || a.getDoctorName().toLowerCase(Locale.ROOT).contains(doctorName))
+            .toList();
+        response.put("appointments", appointments);
+        return ResponseEntity.ok(response);
+    }
+
+    // The frontend sends the literal "null" for an unset path filter
+    private static boolean isGiven(String filter) {
+        return filter != null && !filter.isBlank() && !"null".equalsIgnoreCase(filter.trim());
+    }
 // 1. **@Service Annotation**
 // The @Service annotation marks this class as a service component in Spring. This allows Spring to automatically detect it through component scanning
 // and manage its lifecycle, enabling it to be injected into controllers or other services using @Autowired or constructor injection.
@@ -0,0 +1,17 @@
+-- ID sequences for the entities (pooled-lo, blocks of 50), so Hibernate can batch inserts.
+-- Each sequence continues after the highest existing ID. MySQL has no sequences: see db/mysql.
+
+CREATE SEQUENCE admin_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE admin_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM admin);
+
+CREATE SEQUENCE doctor_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE doctor_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM doctor);
+
+CREATE SEQUENCE patient_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE patient_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM patient);
+
+CREATE SEQUENCE available_time_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE available_time_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM available_time);
+
+CREATE SEQUENCE appointment_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE appointment_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM appointment);
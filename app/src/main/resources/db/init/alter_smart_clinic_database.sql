@@ -10,24 +10,51 @@ USE smart_clinic_db;
 -- Create missing tables using conditional logic
 -- ============================================================================
 
--- Create DOCTOR_AVAILABLE_TIMES table if it doesn't exist
+-- Create AVAILABLE_TIME table if it doesn't exist
 SET @table_exists = 0;
 SELECT COUNT(*) INTO @table_exists 
 FROM INFORMATION_SCHEMA.TABLES 
 WHERE TABLE_SCHEMA = 'smart_clinic_db' 
-AND TABLE_NAME = 'doctor_available_times';
+AND TABLE_NAME = 'available_time';
 
 SET @sql = IF(@table_exists = 0, 
-    'CREATE TABLE doctor_available_times (
+    'CREATE TABLE available_time (
         id BIGINT AUTO_INCREMENT PRIMARY KEY,
         doctor_id BIGINT NOT NULL,
-        available_time VARCHAR(255) NOT NULL,
-        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-        
+        day_of_week VARCHAR(9) NOT NULL,
+        start_time TIME NOT NULL,
+        end_time TIME NOT NULL,
+    
         FOREIGN KEY (doctor_id) REFERENCES doctor(id) ON DELETE CASCADE,
-        INDEX idx_doctor_available_times (doctor_id)
+        INDEX idx_available_time_doctor_day (doctor_id, day_of_week, start_time),
+        INDEX idx_available_time_range (start_time, end_time)
     )',
-    'SELECT "doctor_available_times table already exists" AS message'
+    'SELECT "available_time table already exists" AS message'
+);
+
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Convert the legacy "HH:mm-HH:mm" strings in doctor_available_times, if that table exists
+-- and available_time is still empty. Each range applies to every day of the week.
+SET @legacy_exists = 0;
+SELECT COUNT(*) INTO @legacy_exists 
+FROM INFORMATION_SCHEMA.TABLES 
+WHERE TABLE_SCHEMA = 'smart_clinic_db' 
+AND TABLE_NAME = 'doctor_available_times';
+
+SET @sql = IF(@legacy_exists = 1 AND (SELECT COUNT(*) FROM available_time) = 0,
+    'INSERT INTO available_time (doctor_id, day_of_week, start_time, end_time)
+    SELECT dat.doctor_id, w.day_of_week,
+           TIME(SUBSTRING_INDEX(dat.available_time, ''-'', 1)),
+           TIME(SUBSTRING_INDEX(dat.available_time, ''-'', -1))
+    FROM doctor_available_times dat
+    CROSS JOIN (
+        SELECT ''MONDAY'' AS day_of_week UNION ALL SELECT ''TUESDAY'' UNION ALL SELECT ''WEDNESDAY'' UNION ALL
+        SELECT ''THURSDAY'' UNION ALL SELECT ''FRIDAY'' UNION ALL SELECT ''SATURDAY'' UNION ALL SELECT ''SUNDAY''
+    ) w',
+    'SELECT "available_time already populated or no legacy table" AS message'
 );
 
 PREPARE stmt FROM @sql;
@@ -407,6 +434,7 @@ CALL AddIndexIfNotExists('appointment', 'idx_appointment_doctor', '(doctor_id)')
 CALL AddIndexIfNotExists('appointment', 'idx_appointment_patient', '(patient_id)');
 CALL AddIndexIfNotExists('appointment', 'idx_appointment_time', '(appointment_time)');
 CALL AddIndexIfNotExists('appointment', 'idx_appointment_status', '(status)');
+CALL AddIndexIfNotExists('appointment', 'idx_appointment_patient_time_id', '(patient_id, appointment_time, id)');
 
 -- Add prescription indexes only if table exists
 SET @table_exists = 0;
@@ -457,15 +485,17 @@ IF @doctor_count < 5 THEN
 END IF;
 
 -- Insert doctor available times if the table is empty
-SET @available_times_count = (SELECT COUNT(*) FROM doctor_available_times);
+SET @available_times_count = (SELECT COUNT(*) FROM available_time);
 
 IF @available_times_count = 0 THEN
     -- Get the current doctor count for dynamic insertion
     SET @current_doctor_count = (SELECT COUNT(*) FROM doctor);
     
     -- Insert available times for first 5 doctors (or however many exist)
-    INSERT INTO doctor_available_times (doctor_id, available_time) 
-    SELECT d.id, times.time_slot
+    INSERT INTO available_time (doctor_id, day_of_week, start_time, end_time) 
+    SELECT d.id, w.day_of_week,
+           TIME(SUBSTRING_INDEX(times.time_slot, '-', 1)),
+           TIME(SUBSTRING_INDEX(times.time_slot, '-', -1))
     FROM doctor d
     CROSS JOIN (
         SELECT '09:00-10:00' AS time_slot UNION ALL
@@ -475,6 +505,10 @@ IF @available_times_count = 0 THEN
         SELECT '15:00-16:00' UNION ALL
         SELECT '16:00-17:00'
     ) times
+    CROSS JOIN (
+        SELECT 'MONDAY' AS day_of_week UNION ALL SELECT 'TUESDAY' UNION ALL SELECT 'WEDNESDAY' UNION ALL
+        SELECT 'THURSDAY' UNION ALL SELECT 'FRIDAY' UNION ALL SELECT 'SATURDAY' UNION ALL SELECT 'SUNDAY'
+    ) w
     WHERE d.id <= LEAST(@current_doctor_count, 25)
     ORDER BY d.id, times.time_slot;
 END IF;
@@ -544,21 +578,19 @@ SELECT
     d.id AS doctor_id,
     d.name AS doctor_name,
     d.specialty,
-    dat.available_time,
+    CONCAT(TIME_FORMAT(t.start_time, '%H:%i'), '-', TIME_FORMAT(t.end_time, '%H:%i')) AS available_time,
     CASE 
         WHEN EXISTS (
             SELECT 1 FROM appointment a 
             WHERE a.doctor_id = d.id 
-            AND DATE(a.appointment_time) = CURDATE()
-            AND TIME(a.appointment_time) BETWEEN 
-                TIME(SUBSTRING_INDEX(dat.available_time, '-', 1)) 
-                AND TIME(SUBSTRING_INDEX(dat.available_time, '-', -1))
+            AND a.appointment_time >= TIMESTAMP(CURDATE(), t.start_time)
+            AND a.appointment_time <= TIMESTAMP(CURDATE(), t.end_time)
         ) THEN 'Booked'
         ELSE 'Available'
     END AS availability_status
 FROM doctor d
-LEFT JOIN doctor_available_times dat ON d.id = dat.doctor_id
-ORDER BY d.name, dat.available_time;
+LEFT JOIN available_time t ON d.id = t.doctor_id AND t.day_of_week = UPPER(DAYNAME(CURDATE()))
+ORDER BY d.name, t.start_time;
 
 -- View for patient medication history (only if prescription table exists)
 SET @sql = IF(@table_exists = 1,
@@ -619,22 +651,21 @@ CREATE PROCEDURE GetDoctorAvailableSlots(
 )
 BEGIN
     SELECT 
-        dat.available_time,
+        CONCAT(TIME_FORMAT(t.start_time, '%H:%i'), '-', TIME_FORMAT(t.end_time, '%H:%i')) AS available_time,
         CASE 
             WHEN EXISTS (
                 SELECT 1 FROM appointment a 
                 WHERE a.doctor_id = p_doctor_id 
-                AND DATE(a.appointment_time) = p_date
-                AND TIME(a.appointment_time) BETWEEN 
-                    TIME(SUBSTRING_INDEX(dat.available_time, '-', 1)) 
-                    AND TIME(SUBSTRING_INDEX(dat.available_time, '-', -1))
+                AND a.appointment_time >= TIMESTAMP(p_date, t.start_time)
+                AND a.appointment_time <= TIMESTAMP(p_date, t.end_time)
                 AND a.status = 0
             ) THEN 'Booked'
             ELSE 'Available'
         END AS status
-    FROM doctor_available_times dat
-    WHERE dat.doctor_id = p_doctor_id
-    ORDER BY dat.available_time;
+    FROM available_time t
+    WHERE t.doctor_id = p_doctor_id
+    AND t.day_of_week = UPPER(DAYNAME(p_date))
+    ORDER BY t.start_time;
 END //
 
 DELIMITER ;
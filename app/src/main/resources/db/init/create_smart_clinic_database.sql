@@ -11,7 +11,7 @@ USE smart_clinic_db;
 -- Drop tables if they exist (for clean recreation)
 -- ============================================================================
 DROP TABLE IF EXISTS prescription;
-DROP TABLE IF EXISTS doctor_available_times;
+DROP TABLE IF EXISTS available_time;
 DROP TABLE IF EXISTS appointment;
 DROP TABLE IF EXISTS admin;
 DROP TABLE IF EXISTS doctor;
@@ -70,17 +70,20 @@ CREATE TABLE doctor (
 );
 
 -- ============================================================================
--- 4. DOCTOR_AVAILABLE_TIMES Table
--- This table represents the @ElementCollection availableTimes from Doctor entity
+-- 4. AVAILABLE_TIME Table
+-- This table represents the AvailableTime entity (Doctor.availableTimes):
+-- one row per weekday and time range a doctor is available
 -- ============================================================================
-CREATE TABLE doctor_available_times (
+CREATE TABLE available_time (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     doctor_id BIGINT NOT NULL,
-    available_time VARCHAR(255) NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    
+    day_of_week VARCHAR(9) NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+
     FOREIGN KEY (doctor_id) REFERENCES doctor(id) ON DELETE CASCADE,
-    INDEX idx_doctor_available_times (doctor_id)
+    INDEX idx_available_time_doctor_day (doctor_id, day_of_week, start_time),
+    INDEX idx_available_time_range (start_time, end_time)
 );
 
 -- ============================================================================
@@ -101,13 +104,17 @@ CREATE TABLE appointment (
     
     -- Business Constraints
     CONSTRAINT chk_appointment_status CHECK (status IN (0, 1)), -- 0 = Scheduled, 1 = Completed
+    CONSTRAINT uk_appointment_doctor_time UNIQUE (doctor_id, appointment_time), -- No double booking of a slot
     -- Note: Removed future time constraint to allow historical completed appointments
     
     -- Indexes for performance
     INDEX idx_appointment_doctor (doctor_id),
     INDEX idx_appointment_patient (patient_id),
     INDEX idx_appointment_time (appointment_time),
-    INDEX idx_appointment_status (status)
+    INDEX idx_appointment_status (status),
+    -- Keyset pagination of history, newest first: (patient_id, appointment_time, id)
+    -- The doctor side is served by uk_appointment_doctor_time (InnoDB appends the primary key)
+    INDEX idx_appointment_patient_time_id (patient_id, appointment_time, id)
 );
 
 -- ============================================================================
@@ -207,8 +214,9 @@ INSERT INTO doctor (name, specialty, email, password, phone) VALUES
 ('Dr. Xavier Scott', 'Family Medicine', 'xavier.scott@clinic.com', '$2a$10$example.hash.for.doctor.password', '555-345-6789'),
 ('Dr. Yara Evans', 'Internal Medicine', 'yara.evans@clinic.com', '$2a$10$example.hash.for.doctor.password', '555-456-7890');
 
--- Insert sample available times for doctors
-INSERT INTO doctor_available_times (doctor_id, available_time) VALUES
+-- Insert sample available times for doctors (every range applies to each day of the week)
+CREATE TEMPORARY TABLE tmp_available_times (doctor_id BIGINT, available_time VARCHAR(11));
+INSERT INTO tmp_available_times (doctor_id, available_time) VALUES
 (1, '09:00-10:00'), (1, '10:00-11:00'), (1, '11:00-12:00'), (1, '14:00-15:00'),
 (2, '10:00-11:00'), (2, '11:00-12:00'), (2, '14:00-15:00'), (2, '15:00-16:00'),
 (3, '09:00-10:00'), (3, '11:00-12:00'), (3, '14:00-15:00'), (3, '16:00-17:00'),
@@ -235,6 +243,18 @@ INSERT INTO doctor_available_times (doctor_id, available_time) VALUES
 (24, '12:00-13:00'), (24, '13:00-14:00'), (24, '14:00-15:00'), (24, '15:00-16:00'),
 (25, '09:00-10:00'), (25, '10:00-11:00'), (25, '14:00-15:00'), (25, '15:00-16:00');
 
+INSERT INTO available_time (doctor_id, day_of_week, start_time, end_time)
+SELECT t.doctor_id, w.day_of_week,
+       TIME(SUBSTRING_INDEX(t.available_time, '-', 1)),
+       TIME(SUBSTRING_INDEX(t.available_time, '-', -1))
+FROM tmp_available_times t
+CROSS JOIN (
+        SELECT 'MONDAY' AS day_of_week UNION ALL SELECT 'TUESDAY' UNION ALL SELECT 'WEDNESDAY' UNION ALL
+        SELECT 'THURSDAY' UNION ALL SELECT 'FRIDAY' UNION ALL SELECT 'SATURDAY' UNION ALL SELECT 'SUNDAY'
+) w;
+
+DROP TEMPORARY TABLE tmp_available_times;
+
 -- Insert sample appointments (comprehensive dataset with scheduled and completed appointments)
 INSERT INTO appointment (appointment_time, status, doctor_id, patient_id) VALUES
 -- Scheduled appointments (status = 0) - Future dates
@@ -427,21 +447,19 @@ SELECT
     d.id AS doctor_id,
     d.name AS doctor_name,
     d.specialty,
-    dat.available_time,
+    CONCAT(TIME_FORMAT(t.start_time, '%H:%i'), '-', TIME_FORMAT(t.end_time, '%H:%i')) AS available_time,
     CASE 
         WHEN EXISTS (
             SELECT 1 FROM appointment a 
             WHERE a.doctor_id = d.id 
-            AND DATE(a.appointment_time) = CURDATE()
-            AND TIME(a.appointment_time) BETWEEN 
-                TIME(SUBSTRING_INDEX(dat.available_time, '-', 1)) 
-                AND TIME(SUBSTRING_INDEX(dat.available_time, '-', -1))
+            AND a.appointment_time >= TIMESTAMP(CURDATE(), t.start_time)
+            AND a.appointment_time <= TIMESTAMP(CURDATE(), t.end_time)
         ) THEN 'Booked'
         ELSE 'Available'
     END AS availability_status
 FROM doctor d
-LEFT JOIN doctor_available_times dat ON d.id = dat.doctor_id
-ORDER BY d.name, dat.available_time;
+LEFT JOIN available_time t ON d.id = t.doctor_id AND t.day_of_week = UPPER(DAYNAME(CURDATE()))
+ORDER BY d.name, t.start_time;
 
 -- View for patient medication history
 -- NOTE: This view uses MySQL prescription data. For comprehensive medication history
@@ -504,22 +522,21 @@ CREATE PROCEDURE GetDoctorAvailableSlots(
 )
 BEGIN
     SELECT 
-        dat.available_time,
+        CONCAT(TIME_FORMAT(t.start_time, '%H:%i'), '-', TIME_FORMAT(t.end_time, '%H:%i')) AS available_time,
         CASE 
             WHEN EXISTS (
                 SELECT 1 FROM appointment a 
                 WHERE a.doctor_id = p_doctor_id 
-                AND DATE(a.appointment_time) = p_date
-                AND TIME(a.appointment_time) BETWEEN 
-                    TIME(SUBSTRING_INDEX(dat.available_time, '-', 1)) 
-                    AND TIME(SUBSTRING_INDEX(dat.available_time, '-', -1))
+                AND a.appointment_time >= TIMESTAMP(p_date, t.start_time)
+                AND a.appointment_time <= TIMESTAMP(p_date, t.end_time)
                 AND a.status = 0
             ) THEN 'Booked'
             ELSE 'Available'
         END AS status
-    FROM doctor_available_times dat
-    WHERE dat.doctor_id = p_doctor_id
-    ORDER BY dat.available_time;
+    FROM available_time t
+    WHERE t.doctor_id = p_doctor_id
+    AND t.day_of_week = UPPER(DAYNAME(p_date))
+    ORDER BY t.start_time;
 END //
 
 DELIMITER ;
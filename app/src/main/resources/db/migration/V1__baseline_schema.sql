@@ -0,0 +1,60 @@
+-- Baseline: the schema Hibernate created with ddl-auto=update before migrations were introduced.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate).
+-- Written to run unchanged on MySQL and H2.
+
+CREATE TABLE admin (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE doctor (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    specialty VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE patient (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE available_time (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    doctor_id BIGINT NOT NULL,
+    day_of_week ENUM('FRIDAY', 'MONDAY', 'SATURDAY', 'SUNDAY', 'THURSDAY', 'TUESDAY', 'WEDNESDAY') NOT NULL,
+    start_time TIME(6) NOT NULL,
+    end_time TIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_available_time_doctor_day ON available_time (doctor_id, day_of_week, start_time);
+CREATE INDEX idx_available_time_range ON available_time (start_time, end_time);
+
+CREATE TABLE appointment (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    doctor_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    appointment_time DATETIME(6) NOT NULL,
+    status INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_appointment_doctor_time UNIQUE (doctor_id, appointment_time)
+);
+
+CREATE INDEX idx_appointment_patient_time_id ON appointment (patient_id, appointment_time, id);
+CREATE INDEX idx_appointment_time ON appointment (appointment_time);
+
+-- Foreign keys last; MySQL enforces them with the indexes above that lead with doctor_id/patient_id
+ALTER TABLE available_time ADD CONSTRAINT fk_available_time_doctor FOREIGN KEY (doctor_id) REFERENCES doctor (id);
+ALTER TABLE appointment ADD CONSTRAINT fk_appointment_doctor FOREIGN KEY (doctor_id) REFERENCES doctor (id);
+ALTER TABLE appointment ADD CONSTRAINT fk_appointment_patient FOREIGN KEY (patient_id) REFERENCES patient (id);
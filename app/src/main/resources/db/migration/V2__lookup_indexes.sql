@@ -0,0 +1,12 @@
+-- Indexes for the remaining equality lookups of the repositories
+
+-- Login and user directory lookups (DoctorRepository/PatientRepository.findByEmail, AdminRepository.findByUsername)
+CREATE INDEX idx_doctor_email ON doctor (email);
+CREATE INDEX idx_patient_email ON patient (email);
+CREATE INDEX idx_admin_username ON admin (username);
+
+-- Registration duplicate check (PatientRepository.findByEmailOrPhone); the OR is answered by merging both indexes
+CREATE INDEX idx_patient_phone ON patient (phone);
+
+-- A patient's appointments by status in time order (findByPatient_IdAndStatusOrderByAppointmentTimeAsc)
+CREATE INDEX idx_appointment_patient_status_time ON appointment (patient_id, status, appointment_time);
@@ -0,0 +1,20 @@
+-- Cold tier for completed appointments past the hot horizon, filled by AppointmentArchiver.
+-- Rows keep their appointment IDs (prescriptions in Mongo refer to them), so there is no generator.
+
+CREATE TABLE appointment_archive (
+    id BIGINT NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    appointment_time DATETIME(6) NOT NULL,
+    status INTEGER NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Keyset pagination of doctor and patient histories on (appointment_time, id), and report day ranges
+CREATE INDEX idx_appointment_archive_doctor_time_id ON appointment_archive (doctor_id, appointment_time, id);
+CREATE INDEX idx_appointment_archive_patient_time_id ON appointment_archive (patient_id, appointment_time, id);
+CREATE INDEX idx_appointment_archive_time ON appointment_archive (appointment_time);
+
+ALTER TABLE appointment_archive ADD CONSTRAINT fk_appointment_archive_doctor FOREIGN KEY (doctor_id) REFERENCES doctor (id);
+ALTER TABLE appointment_archive ADD CONSTRAINT fk_appointment_archive_patient FOREIGN KEY (patient_id) REFERENCES patient (id);
@@ -0,0 +1,8 @@
+-- Normalized patient name (accents removed, lowercased) for name searches, so filters compare a stored
+-- column instead of computing LOWER(name) per row. Accent folding isn't portable SQL: existing rows are
+-- left NULL and filled in by PatientSearchNameBackfill on startup.
+
+ALTER TABLE patient ADD COLUMN search_name VARCHAR(100);
+
+-- Lets the backfill find the rows still NULL without scanning patient, and serves prefix lookups on the key
+CREATE INDEX idx_patient_search_name ON patient (search_name);
@@ -0,0 +1,18 @@
+-- ID sequences for the entities (pooled-lo, blocks of 50), so Hibernate can batch inserts.
+-- MySQL has no sequences; Hibernate keeps each one in a single-row table, advanced once per block.
+-- Each sequence continues after the highest existing ID.
+
+CREATE TABLE admin_seq (next_val BIGINT);
+INSERT INTO admin_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM admin;
+
+CREATE TABLE doctor_seq (next_val BIGINT);
+INSERT INTO doctor_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM doctor;
+
+CREATE TABLE patient_seq (next_val BIGINT);
+INSERT INTO patient_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM patient;
+
+CREATE TABLE available_time_seq (next_val BIGINT);
+INSERT INTO available_time_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM available_time;
+
+CREATE TABLE appointment_seq (next_val BIGINT);
+INSERT INTO appointment_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM appointment;
@@ -1,3 +1,5 @@
+-- Superseded by GET /api/report/daily/{date}/{token} (ReportService), which filters on a
+-- sargable appointment_time range, streams CSV or JSON and also runs on H2. Kept for reference.
 DELIMITER $$
 
 CREATE PROCEDURE GetDailyAppointmentReportByDoctor(
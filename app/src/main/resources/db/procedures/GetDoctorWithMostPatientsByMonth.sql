@@ -1,3 +1,5 @@
+-- Superseded by GET /api/report/top-doctors/{period}/{token} (ReportService), which reads per-doctor
+-- counts kept up to date by DoctorPatientRollup instead of grouping the appointment table. Kept for reference.
 DELIMITER $$
 
 CREATE PROCEDURE GetDoctorWithMostPatientsByMonth(
@@ -50,7 +50,7 @@ export function showBookingOverlay(e, doctor, patient) {
     <input class="input-field" type="date" id="appointment-date" />
     <select class="input-field" id="appointment-time">
       <option value="">Select time</option>
-      ${doctor.availableTimes.map(t => `<option value="${t}">${t}</option>`).join('')}
+      ${[...new Set(doctor.availableTimes.map(t => t.label))].map(t => `<option value="${t}">${t}</option>`).join('')}
     </select>
     <button class="confirm-booking">Confirm Booking</button>
   `;
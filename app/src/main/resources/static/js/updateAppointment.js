@@ -39,7 +39,8 @@ async function initializePage() {
       document.getElementById("appointmentTime").value = appointmentTime;
 
       const timeSelect = document.getElementById("appointmentTime");
-      doctor.availableTimes.forEach(time => {
+      // The schedule has one entry per weekday; list each time range once
+      [...new Set(doctor.availableTimes.map(t => t.label))].forEach(time => {
         const option = document.createElement("option");
         option.value = time;
         option.textContent = time;
@@ -0,0 +1,156 @@
+package com.project.back_end;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.services.TokenService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test for the request threading modes: boots the application once on the Tomcat
+ * platform thread pool and once with the virtual-threads profile, then drives a JPA-backed
+ * endpoint (a doctor's appointment history) with many concurrent clients and reports
+ * throughput and latency percentiles for each. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class RequestThreadsBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestThreadsBenchmarkTest.class);
+
+    private static final int CLIENTS = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int WARM_UP_REQUESTS_PER_CLIENT = 2;
+    private static final int APPOINTMENTS = 200;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+        logger.info("{} clients x {} requests, GET /appointments/doctor/{id}/{token}: platform threads {}, virtual threads {}",
+                    CLIENTS, REQUESTS_PER_CLIENT, platform, virtual);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BackEndApplication.class);
+        if (virtualThreads) {
+            builder.profiles("virtual-threads");
+        }
+        // Command-line arguments, because application.properties overrides builder default properties.
+        // Mongo isn't used by the endpoint; without index creation the client never connects.
+        try (ConfigurableApplicationContext context = builder.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + (virtualThreads ? "virtual" : "platform"),
+                "--spring.jpa.show-sql=false",
+                "--spring.data.mongodb.auto-index-creation=false",
+                "--logging.level.root=WARN",
+                "--logging.level." + RequestThreadsBenchmarkTest.class.getName() + "=INFO")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/appointments/doctor/" + seed(context) + "?size=20");
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+            drive(client, uri, WARM_UP_REQUESTS_PER_CLIENT);
+            return drive(client, uri, REQUESTS_PER_CLIENT);
+        }
+    }
+
+    // Creates a doctor with appointment history; returns "{doctorId}/{token}"
+    private static String seed(ConfigurableApplicationContext context) {
+        Doctor doctor = new Doctor();
+        doctor.setName("Load Test Doctor");
+        doctor.setSpecialty("Cardiology");
+        doctor.setEmail("load.doctor@example.com");
+        doctor.setPassword("loadtest1");
+        doctor.setPhone("5550100000");
+        doctor = context.getBean(DoctorRepository.class).save(doctor);
+
+        Patient patient = new Patient();
+        patient.setName("Load Test Patient");
+        patient.setEmail("load.patient@example.com");
+        patient.setPassword("loadtest1");
+        patient.setPhone("5550100001");
+        patient.setAddress("1 Load Test Street");
+        patient = context.getBean(PatientRepository.class).save(patient);
+
+        List<Appointment> appointments = new ArrayList<>(APPOINTMENTS);
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            appointments.add(new Appointment(doctor, patient, start.plusHours(2L * i), 0));
+        }
+        context.getBean(AppointmentRepository.class).saveAll(appointments);
+
+        String token = context.getBean(TokenService.class).generateToken(doctor.getEmail(), "doctor", doctor.getId());
+        return doctor.getId() + "/" + token;
+    }
+
+    // Every client sends its requests one after another; all clients run at once
+    private static Result drive(HttpClient client, URI uri, int requestsPerClient) {
+        int total = CLIENTS * requestsPerClient;
+        long[] latencies = new long[total];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        long start = System.nanoTime();
+        CompletableFuture<?>[] clients = new CompletableFuture<?>[CLIENTS];
+        for (int c = 0; c < CLIENTS; c++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int r = 0; r < requestsPerClient; r++) {
+                chain = chain.thenCompose(ignored -> {
+                    long sent = System.nanoTime();
+                    return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .handle((response, error) -> {
+                            latencies[recorded.getAndIncrement()] = System.nanoTime() - sent;
+                            if (error != null || response.statusCode() != 200) {
+                                failed.incrementAndGet();
+                            }
+                            return null;
+                        });
+                });
+            }
+            clients[c] = chain;
+        }
+        CompletableFuture.allOf(clients).join();
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(0, failed.get(), "failed requests");
+        Arrays.sort(latencies);
+        return new Result(total * 1e9 / elapsed, percentile(latencies, 50), percentile(latencies, 99));
+    }
+
+    private static double percentile(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(double requestsPerSecond, double p50Millis, double p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("%,.0f req/s, p50 %.1f ms, p99 %.1f ms", requestsPerSecond, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.back_end.config;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Inserts appointment rows straight through JDBC, for fixtures that need past appointments (which fail
+ * @Future validation) or archived ones. Give them IDs above FIRST_ID, which stays clear of the sequence.
+ * Import it into the test and autowire it.
+ */
+public class AppointmentRows {
+
+    public static final long FIRST_ID = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AppointmentRows(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(long id, Doctor doctor, Patient patient, LocalDateTime time, int status) {
+        jdbcTemplate.update("INSERT INTO appointment (id, doctor_id, patient_id, appointment_time, status) VALUES (?, ?, ?, ?, ?)",
+                            id, doctor.getId(), patient.getId(), Timestamp.valueOf(time), status);
+    }
+
+    public void archive(long id, Doctor doctor, Patient patient, LocalDateTime time, int status) {
+        jdbcTemplate.update("INSERT INTO appointment_archive (id, doctor_id, patient_id, appointment_time, status, archived_at) " +
+                            "VALUES (?, ?, ?, ?, ?, ?)",
+                            id, doctor.getId(), patient.getId(), Timestamp.valueOf(time), status, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
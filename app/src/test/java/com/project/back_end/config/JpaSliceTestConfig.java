@@ -0,0 +1,14 @@
+package com.project.back_end.config;
+
+import com.project.back_end.services.UserDirectoryListener;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Beans the @DataJpaTest slices add to what they pick up from BackEndApplication: the SQL monitor
+ * (active with sql.monitor.enabled=true) and the entity listener that entities declare.
+ * Import it next to the services a test exercises.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import({SqlMonitorConfig.class, UserDirectoryListener.class})
+public class JpaSliceTestConfig {}
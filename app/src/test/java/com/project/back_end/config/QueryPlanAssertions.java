@@ -0,0 +1,67 @@
+package com.project.back_end.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test assertions on H2 query plans: the statements a piece of code runs are captured with the SQL monitor
+ * (sql.monitor.enabled=true, SqlMonitorConfig), explained, and must look a table up through an index on
+ * the given key columns rather than scan it. Key columns are checked instead of index names because H2
+ * backs every foreign key with an index of its own, where MySQL reuses the composite index that leads with it.
+ */
+public final class QueryPlanAssertions {
+
+    private QueryPlanAssertions() {}
+
+    /**
+     * Run an action and fail unless every statement it ran looks the table up by the key columns
+     * @param jdbcTemplate template on the monitored data source
+     * @param action the code under test
+     * @param table the table name
+     * @param keyColumns the columns the index lookup must constrain
+     */
+    public static void assertIndexLookup(JdbcTemplate jdbcTemplate, Runnable action, String table, String... keyColumns) {
+        List<SqlStatementTracker.Statement> statements;
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.open()) {
+            action.run();
+            statements = scope.statements();
+        }
+        if (statements.isEmpty()) {
+            throw new AssertionError("Expected SQL statements but none ran");
+        }
+        for (SqlStatementTracker.Statement statement : statements) {
+            String plan = explain(jdbcTemplate, statement.sql());
+            String access = tableAccess(plan, table);
+            if (access == null) {
+                throw new AssertionError(statement.origin() + " does not read " + table + ":\n" + plan);
+            }
+            // "PUBLIC.IDX_NAME: COLUMN = ?1 AND ..." is a lookup; a bare index or "tableScan" reads every row
+            int separator = access.indexOf(':');
+            String lookup = separator < 0 ? "" : access.substring(separator + 1).toLowerCase(Locale.ROOT);
+            for (String column : keyColumns) {
+                if (!Pattern.compile("\\b" + Pattern.quote(column.toLowerCase(Locale.ROOT)) + "\\b").matcher(lookup).find()) {
+                    throw new AssertionError(statement.origin() + " reads " + table + " with [" + access
+                            + "] instead of an index lookup on " + Arrays.toString(keyColumns) + ":\n" + plan);
+                }
+            }
+        }
+    }
+
+    // Parameters are bound to null; H2 plans from the predicates, not the values
+    private static String explain(JdbcTemplate jdbcTemplate, String sql) {
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+
+    // H2 follows each table reference with its access path: FROM "PUBLIC"."APPOINTMENT" "A1_0" /* PUBLIC.IDX_...: ... */
+    private static String tableAccess(String plan, String table) {
+        Matcher matcher = Pattern.compile("\\.\"?" + Pattern.quote(table) + "\"?\\s+\"?\\w+\"?\\s*/\\*\\s*([^*]+?)\\s*\\*/",
+                                          Pattern.CASE_INSENSITIVE).matcher(plan);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.project.back_end.config;
+
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Test assertions on the number of SQL statements a piece of code runs, so adding queries
+ * to a hot path fails the build. Needs the SQL monitor (sql.monitor.enabled=true, SqlMonitorConfig).
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {}
+
+    /**
+     * Run an action and fail if it ran more than the given number of SQL statements
+     * @param maxStatements the statement budget
+     * @param action the code under test
+     * @return the action's result
+     */
+    public static <T> T assertMaxStatements(int maxStatements, Supplier<T> action) {
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.open()) {
+            T result = action.get();
+            if (scope.count() > maxStatements) {
+                throw new AssertionError("Expected at most " + maxStatements + " SQL statements but ran " + scope.count()
+                        + ":\n" + scope.statements().stream()
+                            .map(statement -> "  " + statement.origin() + ": " + statement.sql())
+                            .collect(Collectors.joining("\n")));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Run an action and fail if it ran more than the given number of SQL statements
+     * @param maxStatements the statement budget
+     * @param action the code under test
+     */
+    public static void assertMaxStatements(int maxStatements, Runnable action) {
+        assertMaxStatements(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.config.JpaSliceTestConfig;
+import com.project.back_end.models.Admin;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.back_end.config.QueryPlanAssertions.assertIndexLookup;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Query plans of the hot repository queries on the Flyway-migrated schema, in H2's MySQL mode.
+ * A query that stops matching an index (a changed predicate or join, a dropped index) fails here
+ * instead of turning into a full scan in production.
+ */
+@DataJpaTest(properties = {"sql.monitor.enabled=true", "spring.data.mongodb.auto-index-creation=false",
+                           "spring.datasource.url=jdbc:h2:mem:plans;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaSliceTestConfig.class, AppointmentReportRepository.class})
+class QueryPlanTest {
+
+    private static final int DOCTORS = 20;
+    private static final int PATIENTS = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentReportRepository appointmentReportRepository;
+
+    @Autowired
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    private final List<Doctor> doctors = new ArrayList<>();
+    private final List<Patient> patients = new ArrayList<>();
+    private final LocalDate day = LocalDate.now().plusDays(1);
+
+    // Enough rows per table that H2's cost model prefers an index over a scan wherever one applies
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < DOCTORS; i++) {
+            List<AvailableTime> availableTimes = new ArrayList<>();
+            availableTimes.add(new AvailableTime(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0)));
+            availableTimes.add(new AvailableTime(DayOfWeek.TUESDAY, LocalTime.of(13, 0), LocalTime.of(17, 0)));
+            doctors.add(entityManager.persist(new Doctor("Dr. Plan " + i, "Cardiology", "plan" + i + "@clinic.test",
+                                                         "password1", String.format("555000%04d", i), availableTimes)));
+        }
+        for (int i = 0; i < PATIENTS; i++) {
+            patients.add(entityManager.persist(new Patient("Pat Plan " + i, "pat" + i + "@clinic.test", "password1",
+                                                           String.format("555100%04d", i), "1 Main Street")));
+        }
+        for (int i = 0; i < DOCTORS; i++) {
+            for (int hour = 8; hour < 18; hour++) {
+                entityManager.persist(new Appointment(doctors.get(i), patients.get((i + hour) % PATIENTS),
+                                                      day.plusDays(i % 5).atTime(hour, 0), hour % 2));
+            }
+        }
+        entityManager.persist(new Admin("admin", "password1"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void doctorDayViewLooksUpDoctorAndTime() {
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findDoctorAppointmentViews(
+            doctor().getId(), day.atStartOfDay(), day.plusDays(1).atStartOfDay()), "appointment", "doctor_id", "appointment_time");
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findDoctorAppointmentViewsByPatientName(
+            doctor().getId(), Patient.searchKey("PAT plan"), day.atStartOfDay(), day.plusDays(1).atStartOfDay()),
+            "appointment", "doctor_id", "appointment_time");
+    }
+
+    @Test
+    void conflictChecksLookUpDoctorAndTime() {
+        LocalDateTime time = day.atTime(10, 0);
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.existsConflictingAppointment(
+            doctor().getId(), time.minusMinutes(30), time.plusMinutes(90), 0L), "appointment", "doctor_id", "appointment_time");
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findAppointmentTimesByDoctorIdBetween(
+            doctor().getId(), day.atStartOfDay(), day.plusDays(7).atStartOfDay()), "appointment", "doctor_id", "appointment_time");
+    }
+
+    @Test
+    void historiesLookUpDoctorOrPatient() {
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findDoctorHistoryAfter(
+            doctor().getId(), day.atTime(12, 0), Long.MAX_VALUE, PageRequest.of(0, 5)), "appointment", "doctor_id");
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findPatientHistory(
+            patient().getId(), PageRequest.of(0, 5)), "appointment", "patient_id");
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findPatientHistoryAfter(
+            patient().getId(), day.atTime(12, 0), Long.MAX_VALUE, PageRequest.of(0, 5)), "appointment", "patient_id");
+    }
+
+    @Test
+    void archivedHistoriesLookUpDoctorOrPatient() {
+        assertIndexLookup(jdbcTemplate, () -> appointmentArchiveRepository.findDoctorHistoryAfter(
+            doctor().getId(), day.atTime(12, 0), Long.MAX_VALUE, PageRequest.of(0, 5)), "appointment_archive", "doctor_id");
+        assertIndexLookup(jdbcTemplate, () -> appointmentArchiveRepository.findPatientHistoryAfter(
+            patient().getId(), day.atTime(12, 0), Long.MAX_VALUE, PageRequest.of(0, 5)), "appointment_archive", "patient_id");
+    }
+
+    @Test
+    void archivingWalksTheTimeIndex() {
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findArchivableAfter(
+            day.plusDays(1).atStartOfDay(), day.atStartOfDay(), 0L, PageRequest.of(0, 5)), "appointment", "appointment_time");
+    }
+
+    @Test
+    void patientAppointmentListsLookUpPatient() {
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findByPatient_IdAndStatusOrderByAppointmentTimeAsc(
+            patient().getId(), 0), "appointment", "patient_id");
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findByPatientIdOrderByAppointmentTimeDesc(
+            patient().getId()), "appointment", "patient_id");
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.filterByDoctorNameAndPatientIdAndStatus(
+            "plan", patient().getId(), 0), "appointment", "patient_id");
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findPatientAppointmentViews(
+            patient().getId()), "appointment", "patient_id");
+        assertIndexLookup(jdbcTemplate, () -> appointmentArchiveRepository.findPatientAppointmentViews(
+            patient().getId()), "appointment_archive", "patient_id");
+    }
+
+    @Test
+    void timeRangeScansLookUpTime() {
+        assertIndexLookup(jdbcTemplate, () -> appointmentRepository.findSlotsFrom(day.plusDays(4).atStartOfDay()),
+            "appointment", "appointment_time");
+        assertIndexLookup(jdbcTemplate, () -> appointmentReportRepository.forEachDailyReportRow(day, row -> {}),
+            "appointment", "appointment_time");
+        assertIndexLookup(jdbcTemplate, () -> appointmentReportRepository.forEachDailyReportRow(day, row -> {}),
+            "appointment_archive", "appointment_time");
+    }
+
+    @Test
+    void doctorScheduleLooksUpDoctor() {
+        assertIndexLookup(jdbcTemplate, () -> doctorRepository.findByIdWithAvailableTimes(doctor().getId()),
+            "available_time", "doctor_id");
+    }
+
+    @Test
+    void loginLookupsUseEmailAndUsername() {
+        assertIndexLookup(jdbcTemplate, () -> doctorRepository.findByEmail("plan0@clinic.test"), "doctor", "email");
+        assertIndexLookup(jdbcTemplate, () -> patientRepository.findByEmail("pat0@clinic.test"), "patient", "email");
+        assertIndexLookup(jdbcTemplate, () -> adminRepository.findByUsername("admin"), "admin", "username");
+    }
+
+    @Test
+    void searchNameBackfillLooksUpSearchName() {
+        assertIndexLookup(jdbcTemplate, () -> patientRepository.findBySearchNameIsNull(PageRequest.of(0, 5)),
+            "patient", "search_name");
+    }
+
+    @Test
+    void fullScansFail() {
+        assertThrows(AssertionError.class, () -> assertIndexLookup(jdbcTemplate,
+            () -> appointmentRepository.countByDoctorAndMonth(), "appointment", "doctor_id"));
+    }
+
+    private Doctor doctor() {
+        return doctors.get(0);
+    }
+
+    private Patient patient() {
+        return patients.get(0);
+    }
+}
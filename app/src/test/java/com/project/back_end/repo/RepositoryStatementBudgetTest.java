@@ -0,0 +1,118 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.config.JpaSliceTestConfig;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.back_end.config.SqlStatementAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets for the queries behind the busiest endpoints: the doctor dashboard,
+ * patient history and the doctor list, and for bulk inserts, which must go out as JDBC batches.
+ * A change that adds queries to them (e.g. an N+1 load, or an ID strategy that disables batching) fails here.
+ */
+@DataJpaTest(properties = {"sql.monitor.enabled=true", "spring.data.mongodb.auto-index-creation=false"})
+@Import(JpaSliceTestConfig.class)
+class RepositoryStatementBudgetTest {
+
+    private static final int DOCTORS = 20;
+    private static final int APPOINTMENTS = 10;
+    private static final int BULK_APPOINTMENTS = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    private Doctor doctor;
+    private Patient patient;
+    private final LocalDate day = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < DOCTORS; i++) {
+            List<AvailableTime> availableTimes = new ArrayList<>();
+            availableTimes.add(new AvailableTime(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0)));
+            availableTimes.add(new AvailableTime(DayOfWeek.TUESDAY, LocalTime.of(13, 0), LocalTime.of(17, 0)));
+            Doctor saved = entityManager.persist(new Doctor("Dr. Budget " + i, "Cardiology", "budget" + i + "@clinic.test",
+                                                            "password1", "5550000000", availableTimes));
+            if (doctor == null) {
+                doctor = saved;
+            }
+        }
+        patient = entityManager.persist(new Patient("Pat Budget", "pat@clinic.test", "password1", "5550000001", "1 Main Street"));
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            entityManager.persist(new Appointment(doctor, patient, day.atTime(8 + i, 0), 0));
+        }
+        // Start from an empty persistence context so every read goes to the database
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void doctorDayViewIsOneQuery() {
+        List<AppointmentDTO> views = assertMaxStatements(1, () ->
+            appointmentRepository.findDoctorAppointmentViews(doctor.getId(), day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+        assertEquals(APPOINTMENTS, views.size());
+    }
+
+    @Test
+    void patientHistoryPageIsOneQuery() {
+        List<AppointmentDTO> page = assertMaxStatements(1, () ->
+            appointmentRepository.findPatientHistory(patient.getId(), PageRequest.of(0, 5)));
+        assertEquals(5, page.size());
+    }
+
+    @Test
+    void doctorSchedulesAreBatchFetched() {
+        int ranges = assertMaxStatements(2, () ->
+            doctorRepository.findAll().stream().mapToInt(found -> found.getAvailableTimes().size()).sum());
+        assertEquals(DOCTORS * 2, ranges);
+    }
+
+    @Test
+    void bulkInsertsAreBatched() {
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < BULK_APPOINTMENTS; i++) {
+            appointments.add(new Appointment(doctor, patient, day.plusDays(1 + i / 10).atTime(8 + i % 10, 0), 0));
+        }
+        // Two sequence calls (blocks of 50 IDs) and two JDBC batches, give or take a block boundary
+        assertMaxStatements(6, () -> appointmentRepository.saveAllAndFlush(appointments));
+        assertTrue(appointments.stream().allMatch(appointment -> appointment.getId() != null));
+    }
+
+    @Test
+    void exceedingTheBudgetFails() {
+        assertThrows(AssertionError.class, () -> assertMaxStatements(0, () -> doctorRepository.count()));
+    }
+
+    @Test
+    void statementsAreAttributedToRepositoryMethods() {
+        AssertionError error = assertThrows(AssertionError.class,
+            () -> assertMaxStatements(0, () -> doctorRepository.findByEmail("budget0@clinic.test")));
+        assertTrue(error.getMessage().contains("DoctorRepository.findByEmail"), error.getMessage());
+    }
+}
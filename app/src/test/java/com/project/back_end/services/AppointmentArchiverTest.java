@@ -0,0 +1,142 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.config.AppointmentRows;
+import com.project.back_end.config.JpaSliceTestConfig;
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentArchiveRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Archiving of completed appointments past the hot horizon, and history pages that continue from
+ * the hot table into the archive.
+ */
+@DataJpaTest(properties = {"appointment.archive.chunk-size=2", "spring.data.mongodb.auto-index-creation=false"})
+@Import({JpaSliceTestConfig.class, AppointmentRows.class, AppointmentArchiver.class})
+class AppointmentArchiverTest {
+
+    private static final int OLD_COMPLETED = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentRows appointmentRows;
+
+    @Autowired
+    private AppointmentArchiver archiver;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentArchiveRepository archiveRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Doctor doctor;
+    private Patient patient;
+    private final LocalDateTime twoYearsAgo = LocalDateTime.now().minusYears(2).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    private final NavigableMap<LocalDateTime, Long> idsByTime = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() {
+        doctor = entityManager.persist(new Doctor("Dr. Archive", "Cardiology", "archive@clinic.test", "password1",
+                                                  "5550000000", new ArrayList<AvailableTime>()));
+        patient = entityManager.persist(new Patient("Pat Archive", "pat@clinic.test", "password1",
+                                                            "5550000001", "1 Main Street"));
+        entityManager.flush();
+
+        long id = AppointmentRows.FIRST_ID;
+        insert(++id, LocalDateTime.now().plusDays(3), 0);
+        insert(++id, LocalDateTime.now().minusDays(10), 1);
+        insert(++id, LocalDateTime.now().minusDays(11), 1);
+        for (int i = 0; i < OLD_COMPLETED; i++) {
+            insert(++id, twoYearsAgo.minusDays(i), 1);
+        }
+        // Left scheduled, so it stays in the hot table between archived ones
+        insert(++id, twoYearsAgo.minusDays(2).plusHours(1), 0);
+    }
+
+    @Test
+    void archivesOldCompletedAppointmentsInChunks() {
+        assertEquals(OLD_COMPLETED, archiver.archiveBefore(LocalDateTime.now().minusDays(365)));
+
+        assertEquals(4, appointmentRepository.count());
+        assertEquals(OLD_COMPLETED, archiveRepository.count());
+        assertEquals(twoYearsAgo, archiver.archivedThrough());
+        assertEquals(0, archiver.archiveBefore(LocalDateTime.now().minusDays(365)));
+    }
+
+    @Test
+    void historyPagesContinueIntoTheArchive() {
+        archiver.archiveBefore(LocalDateTime.now().minusDays(365));
+
+        assertEquals(new ArrayList<>(idsByTime.descendingMap().values()), pageThroughDoctorHistory());
+    }
+
+    @Test
+    void historyPagesFindRowsArchivedByAnotherInstance() {
+        AppointmentArchiver otherInstance = new AppointmentArchiver(appointmentRepository, archiveRepository, transactionManager);
+        ReflectionTestUtils.setField(otherInstance, "chunkSize", 2);
+        assertEquals(OLD_COMPLETED, otherInstance.archiveBefore(LocalDateTime.now().minusDays(365)));
+
+        assertEquals(new ArrayList<>(idsByTime.descendingMap().values()), pageThroughDoctorHistory());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> pageThroughDoctorHistory() {
+        AppointmentService appointmentService = new AppointmentService(
+                appointmentRepository, patientRepository, doctorRepository,
+                mock(ValidationService.class), mock(TokenService.class),
+                mock(AppointmentSlotIndex.class), mock(DoctorAvailabilityCalendar.class), new DoctorBookingLocks(64),
+                mock(DoctorPatientRollup.class), mock(PatientAutocompleteIndex.class), mock(PatientAppointmentCache.class),
+                archiveRepository, archiver, transactionManager);
+        ReflectionTestUtils.setField(appointmentService, "historyMaxPageSize", 200);
+
+        List<Long> pagedIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            Map<String, Object> page = appointmentService.getDoctorAppointments(doctor.getId(), cursor, 3).getBody();
+            for (AppointmentDTO appointment : (List<AppointmentDTO>) page.get("appointments")) {
+                pagedIds.add(appointment.getId());
+            }
+            cursor = (String) page.get("nextCursor");
+        } while (cursor != null);
+        return pagedIds;
+    }
+
+    private void insert(long id, LocalDateTime time, int status) {
+        appointmentRows.insert(id, doctor, patient, time, status);
+        idsByTime.put(time, id);
+    }
+}
@@ -0,0 +1,141 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentArchiveRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.AvailableTimeRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stress test for concurrent bookings: many threads race for overlapping slots
+ * and no doctor may end up double-booked.
+ */
+class AppointmentServiceConcurrencyTest {
+
+    private static final int DOCTORS = 8;
+    private static final int REQUESTS_PER_DOCTOR = 100;
+    private static final int THREADS = 64;
+
+    // Start offsets in minutes, all within 30 minutes of each other so only one can win
+    private static final int[] OFFSETS = {0, 10, 20, 30};
+
+    private final List<Appointment> stored = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private AppointmentService appointmentService;
+
+    @BeforeEach
+    void setUp() {
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        DoctorRepository doctorRepository = mock(DoctorRepository.class);
+        PatientRepository patientRepository = mock(PatientRepository.class);
+
+        when(doctorRepository.findById(anyLong())).thenReturn(Optional.of(new Doctor()));
+        when(patientRepository.findById(anyLong())).thenReturn(Optional.of(new Patient()));
+
+        // Slow conflict check and save widen the check-then-save race window
+        when(appointmentRepository.existsConflictingAppointment(anyLong(), any(), any(), anyLong()))
+            .thenAnswer(invocation -> {
+                Long doctorId = invocation.getArgument(0);
+                LocalDateTime start = invocation.getArgument(1);
+                LocalDateTime end = invocation.getArgument(2);
+                Thread.sleep(2);
+                return stored.stream().anyMatch(a -> a.getDoctor().getId().equals(doctorId)
+                        && !a.getAppointmentTime().isBefore(start)
+                        && !a.getAppointmentTime().isAfter(end));
+            });
+        when(appointmentRepository.saveAndFlush(any(Appointment.class)))
+            .thenAnswer(invocation -> {
+                Appointment appointment = invocation.getArgument(0);
+                ReflectionTestUtils.setField(appointment, "id", ids.incrementAndGet());
+                Thread.sleep(1);
+                stored.add(appointment);
+                return appointment;
+            });
+
+        appointmentService = new AppointmentService(
+                appointmentRepository,
+                patientRepository,
+                doctorRepository,
+                mock(ValidationService.class),
+                mock(TokenService.class),
+                new AppointmentSlotIndex(appointmentRepository),
+                new DoctorAvailabilityCalendar(mock(AvailableTimeRepository.class), appointmentRepository),
+                new DoctorBookingLocks(64),
+                new DoctorPatientRollup(appointmentRepository, mock(AppointmentArchiveRepository.class)),
+                new PatientAutocompleteIndex(appointmentRepository, mock(AppointmentArchiveRepository.class)),
+                mock(PatientAppointmentCache.class),
+                mock(AppointmentArchiveRepository.class),
+                mock(AppointmentArchiver.class),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void concurrentBookingsNeverDoubleBookADoctor() throws Exception {
+        LocalDateTime slot = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < DOCTORS * REQUESTS_PER_DOCTOR; i++) {
+            long doctorId = (i % DOCTORS) + 1;
+            LocalDateTime time = slot.plusMinutes(OFFSETS[i % OFFSETS.length]);
+            results.add(executor.submit(() -> {
+                start.await();
+                return appointmentService.bookAppointment(newAppointment(doctorId, time));
+            }));
+        }
+
+        start.countDown();
+        int booked = 0;
+        for (Future<Integer> result : results) {
+            booked += result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Map<Long, Long> perDoctor = stored.stream()
+            .collect(Collectors.groupingBy(a -> a.getDoctor().getId(), Collectors.counting()));
+
+        assertEquals(DOCTORS, booked, "exactly one booking per doctor should succeed");
+        assertEquals(DOCTORS, perDoctor.size());
+        perDoctor.forEach((doctorId, count) ->
+            assertEquals(1L, count, "doctor " + doctorId + " was double-booked"));
+    }
+
+    private Appointment newAppointment(long doctorId, LocalDateTime time) {
+        Doctor doctor = new Doctor();
+        ReflectionTestUtils.setField(doctor, "id", doctorId);
+        Patient patient = new Patient();
+        ReflectionTestUtils.setField(patient, "id", 1L);
+        return new Appointment(doctor, patient, time, 0);
+    }
+}
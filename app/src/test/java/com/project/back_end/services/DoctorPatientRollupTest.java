@@ -0,0 +1,139 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.AppointmentArchiveRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Patients-seen leaderboards: warm-up from both appointment tables, live adjustments, ranking,
+ * and changes committed while warm-up is loading.
+ */
+class DoctorPatientRollupTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+    private static final YearMonth APRIL = YearMonth.of(2025, 4);
+    private static final Year YEAR = Year.of(2025);
+    private static final LocalDateTime IN_MARCH = MARCH.atDay(10).atTime(9, 0);
+
+    private AppointmentRepository appointmentRepository;
+    private DoctorPatientRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        // (doctor id, year, month, appointments, completed)
+        appointmentRepository = mock(AppointmentRepository.class);
+        AppointmentArchiveRepository archiveRepository = mock(AppointmentArchiveRepository.class);
+        when(appointmentRepository.countByDoctorAndMonth()).thenReturn(rows(
+                new Object[] {1L, 2025, 3, 4L, 1L},
+                new Object[] {2L, 2025, 3, 2L, null},
+                new Object[] {2L, 2025, 4, 3L, 3L}));
+        when(archiveRepository.countByDoctorAndMonth()).thenReturn(rows(
+                new Object[] {1L, 2025, 1, 2L, 2L},
+                new Object[] {3L, 2024, 12, 5L, 5L}));
+        rollup = new DoctorPatientRollup(appointmentRepository, archiveRepository);
+    }
+
+    @Test
+    void warmUpLoadsMonthsAndYearsFromBothTables() {
+        rollup.warmUp();
+
+        assertEquals(List.of(count(1L, 4, 1), count(2L, 2, 0)), rollup.top(MARCH, 10));
+        assertEquals(List.of(count(1L, 6, 3), count(2L, 5, 3)), rollup.top(YEAR, 10));
+        assertEquals(List.of(count(3L, 5, 5)), rollup.top(Year.of(2024), 10));
+        assertEquals(List.of(), rollup.top(YearMonth.of(2025, 2), 10));
+    }
+
+    @Test
+    void rankingBreaksTiesByDoctorIdAndHonoursTheLimit() {
+        rollup.warmUp();
+        rollup.booked(2L, IN_MARCH, 0);
+        rollup.booked(2L, IN_MARCH, 0);
+
+        assertEquals(List.of(count(1L, 4, 1), count(2L, 4, 0)), rollup.top(MARCH, 10));
+        assertEquals(List.of(count(1L, 4, 1)), rollup.top(MARCH, 1));
+
+        rollup.booked(2L, IN_MARCH, 0);
+        assertEquals(List.of(count(2L, 5, 0)), rollup.top(MARCH, 1));
+    }
+
+    @Test
+    void bookingsAndCancellationsAdjustTheMonthAndYear() {
+        rollup.warmUp();
+        rollup.booked(3L, IN_MARCH, 0);
+        rollup.cancelled(1L, IN_MARCH, 1);
+
+        assertEquals(List.of(count(1L, 3, 0), count(2L, 2, 0), count(3L, 1, 0)), rollup.top(MARCH, 10));
+        assertEquals(List.of(count(1L, 5, 2), count(2L, 5, 3), count(3L, 1, 0)), rollup.top(YEAR, 10));
+
+        // A doctor leaves the board with their last appointment of the period
+        rollup.cancelled(3L, IN_MARCH, 0);
+        assertEquals(List.of(count(1L, 3, 0), count(2L, 2, 0)), rollup.top(MARCH, 10));
+    }
+
+    @Test
+    void movesOnlyShiftCountsAcrossMonths() {
+        rollup.warmUp();
+        rollup.moved(1L, IN_MARCH, IN_MARCH.plusDays(10), 0);
+        assertEquals(List.of(count(1L, 4, 1), count(2L, 2, 0)), rollup.top(MARCH, 10));
+
+        rollup.moved(1L, IN_MARCH, APRIL.atDay(2).atTime(9, 0), 0);
+        assertEquals(List.of(count(1L, 3, 1), count(2L, 2, 0)), rollup.top(MARCH, 10));
+        assertEquals(List.of(count(2L, 3, 3), count(1L, 1, 0)), rollup.top(APRIL, 10));
+        assertEquals(List.of(count(1L, 6, 3), count(2L, 5, 3)), rollup.top(YEAR, 10));
+
+        rollup.moved(1L, APRIL.atDay(2).atTime(9, 0), LocalDateTime.of(2026, 1, 5, 9, 0), 0);
+        assertEquals(List.of(count(1L, 5, 3), count(2L, 5, 3)), rollup.top(YEAR, 10));
+        assertEquals(List.of(count(1L, 1, 0)), rollup.top(Year.of(2026), 10));
+    }
+
+    @Test
+    void statusChangesOnlyAdjustCompletedCounts() {
+        rollup.warmUp();
+        rollup.statusChanged(2L, IN_MARCH, 0, 1);
+        assertEquals(List.of(count(1L, 4, 1), count(2L, 2, 1)), rollup.top(MARCH, 10));
+
+        rollup.statusChanged(2L, IN_MARCH, 0, 0);
+        rollup.statusChanged(1L, IN_MARCH, 1, 0);
+        assertEquals(List.of(count(1L, 4, 0), count(2L, 2, 1)), rollup.top(MARCH, 10));
+        assertEquals(List.of(count(1L, 6, 2), count(2L, 5, 4)), rollup.top(YEAR, 10));
+    }
+
+    @Test
+    void changesAroundWarmUpAreCountedOnce() {
+        // Committed before the load, so already part of its counts
+        rollup.booked(1L, IN_MARCH, 0);
+        assertEquals(List.of(count(1L, 1, 0)), rollup.top(MARCH, 10));
+
+        // Committed while the load runs, after its query read the table
+        List<Object[]> hot = appointmentRepository.countByDoctorAndMonth();
+        when(appointmentRepository.countByDoctorAndMonth()).thenAnswer(invocation -> {
+            rollup.booked(1L, IN_MARCH, 0);
+            rollup.statusChanged(2L, IN_MARCH, 0, 1);
+            return hot;
+        });
+        rollup.warmUp();
+
+        assertEquals(List.of(count(1L, 5, 1), count(2L, 2, 1)), rollup.top(MARCH, 10));
+        rollup.booked(2L, IN_MARCH, 0);
+        assertEquals(List.of(count(1L, 5, 1), count(2L, 3, 1)), rollup.top(MARCH, 10));
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static DoctorPatientRollup.DoctorCount count(Long doctorId, long patients, long completed) {
+        return new DoctorPatientRollup.DoctorCount(doctorId, patients, completed);
+    }
+}
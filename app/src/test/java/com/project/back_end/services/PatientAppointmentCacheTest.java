@@ -0,0 +1,104 @@
+package com.project.back_end.services;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.config.AppointmentRows;
+import com.project.back_end.config.JpaSliceTestConfig;
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.project.back_end.config.SqlStatementAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A patient's appointment filters served from the cached list: one load across both tables,
+ * then every condition and doctor-name combination without SQL until the list is invalidated.
+ */
+@DataJpaTest(properties = {"sql.monitor.enabled=true", "spring.data.mongodb.auto-index-creation=false"})
+@Import({JpaSliceTestConfig.class, AppointmentRows.class, PatientAppointmentCache.class})
+class PatientAppointmentCacheTest {
+
+    private static final String TOKEN = "patient-token";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentRows appointmentRows;
+
+    @Autowired
+    private PatientAppointmentCache patientAppointments;
+
+    private ValidationService validationService;
+    private Doctor smith;
+    private Doctor jones;
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        smith = entityManager.persist(new Doctor("Dr. Alice Smith", "Cardiology", "smith@clinic.test", "password1",
+                                                 "5550000000", new ArrayList<AvailableTime>()));
+        jones = entityManager.persist(new Doctor("Dr. Bob Jones", "Dermatology", "jones@clinic.test", "password1",
+                                                 "5550000001", new ArrayList<AvailableTime>()));
+        patient = entityManager.persist(new Patient("Pat Filter", "pat@clinic.test", "password1",
+                                                    "5550000002", "1 Main Street"));
+        entityManager.flush();
+
+        appointmentRows.insert(100_001, smith, patient, LocalDateTime.now().plusDays(3), 0);
+        appointmentRows.insert(100_002, jones, patient, LocalDateTime.now().minusDays(3), 1);
+        appointmentRows.archive(100_003, smith, patient, LocalDateTime.now().minusYears(2), 1);
+
+        TokenService tokenService = mock(TokenService.class);
+        when(tokenService.getClaims(TOKEN)).thenReturn(new TokenService.TokenClaims(
+                "token-id", patient.getEmail(), "patient", patient.getId(), Instant.now().plusSeconds(60)));
+        validationService = new ValidationService(tokenService, patientAppointments);
+        patientAppointments.invalidateAll();
+    }
+
+    @Test
+    void filtersAreServedFromOneLoad() {
+        assertEquals(List.of(100_001L, 100_002L, 100_003L),
+                assertMaxStatements(2, () -> ids(validationService.filterPatient("null", "null", TOKEN))));
+
+        assertMaxStatements(0, () -> {
+            assertEquals(List.of(100_002L, 100_003L), ids(validationService.filterPatient("past", "null", TOKEN)));
+            assertEquals(List.of(100_001L), ids(validationService.filterPatient("future", "", TOKEN)));
+            assertEquals(List.of(100_001L, 100_003L), ids(validationService.filterPatient(null, "SMITH", TOKEN)));
+            assertEquals(List.of(100_003L), ids(validationService.filterPatient("Past", "alice", TOKEN)));
+            assertEquals(List.of(), ids(validationService.filterPatient("future", "jones", TOKEN)));
+        });
+        assertEquals(HttpStatus.BAD_REQUEST, validationService.filterPatient("soon", "null", TOKEN).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, validationService.filterPatient("past", "null", "other").getStatusCode());
+    }
+
+    @Test
+    void invalidatedListsAreReloaded() {
+        assertEquals(3, ids(validationService.filterPatient("null", "null", TOKEN)).size());
+        appointmentRows.insert(100_004, jones, patient, LocalDateTime.now().plusDays(5), 0);
+        assertEquals(3, ids(validationService.filterPatient("null", "null", TOKEN)).size());
+
+        patientAppointments.invalidate(patient.getId());
+        assertEquals(List.of(100_004L, 100_001L), ids(validationService.filterPatient("future", "null", TOKEN)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> ids(ResponseEntity<Map<String, Object>> response) {
+        return ((List<AppointmentDTO>) response.getBody().get("appointments")).stream().map(AppointmentDTO::getId).toList();
+    }
+}
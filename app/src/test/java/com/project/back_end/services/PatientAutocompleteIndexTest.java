@@ -0,0 +1,62 @@
+package com.project.back_end.services;
+
+import com.project.back_end.repo.AppointmentArchiveRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Patient-name autocomplete: warm-up from both appointment tables, word-prefix matching and live updates.
+ */
+class PatientAutocompleteIndexTest {
+
+    private static final Long DOCTOR = 1L;
+
+    private PatientAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        AppointmentArchiveRepository archiveRepository = mock(AppointmentArchiveRepository.class);
+        when(appointmentRepository.countByDoctorAndPatient()).thenReturn(List.of(
+                new Object[] {DOCTOR, 10L, "Zoë Martin", 2L},
+                new Object[] {DOCTOR, 11L, "Martina Lopez", 1L},
+                new Object[] {2L, 12L, "Mark Other", 1L}));
+        when(archiveRepository.countByDoctorAndPatient()).thenReturn(List.<Object[]>of(
+                new Object[] {DOCTOR, 11L, "Martina Lopez", 3L}));
+        index = new PatientAutocompleteIndex(appointmentRepository, archiveRepository);
+        index.warmUp();
+    }
+
+    @Test
+    void matchesWordPrefixesIgnoringCaseAndAccents() {
+        assertEquals(List.of(11L, 10L), ids(index.suggest(DOCTOR, "MAR", 10)));
+        assertEquals(List.of(10L), ids(index.suggest(DOCTOR, "zoe ma", 10)));
+        assertEquals(List.of(11L), ids(index.suggest(DOCTOR, "lop  mart", 10)));
+        assertEquals(List.of(11L), ids(index.suggest(DOCTOR, "mar", 1)));
+        assertEquals(List.of(), ids(index.suggest(DOCTOR, "tin", 10)));
+        assertEquals(List.of(), ids(index.suggest(3L, "mar", 10)));
+    }
+
+    @Test
+    void followsBookingsAndCancellations() {
+        index.booked(DOCTOR, 13L, "Marc Dubois");
+        assertEquals(List.of(11L, 10L, 13L), ids(index.suggest(DOCTOR, "mar", 10)));
+
+        index.cancelled(DOCTOR, 13L);
+        index.cancelled(DOCTOR, 10L);
+        assertEquals(List.of(11L, 10L), ids(index.suggest(DOCTOR, "mar", 10)));
+        index.cancelled(DOCTOR, 10L);
+        assertEquals(List.of(11L), ids(index.suggest(DOCTOR, "mar", 10)));
+    }
+
+    private static List<Long> ids(List<PatientAutocompleteIndex.PatientMatch> matches) {
+        return matches.stream().map(PatientAutocompleteIndex.PatientMatch::patientId).toList();
+    }
+}
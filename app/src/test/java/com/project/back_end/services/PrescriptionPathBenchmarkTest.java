@@ -0,0 +1,154 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+import com.project.back_end.repo.ReactivePrescriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares prescription throughput of the blocking and the reactive repository path against a real Mongo
+ * (started in Docker). The blocking path runs on a fixed worker pool like Tomcat's, the reactive path keeps
+ * every request in flight at once, so the numbers show how each path scales with concurrent requests.
+ * Each path first runs once untimed to warm up the driver's connection pool and the JIT.
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@Testcontainers
+@DataMongoTest(properties = "prescription.reactive.enabled=true")
+class PrescriptionPathBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrescriptionPathBenchmarkTest.class);
+
+    private static final int WORKER_THREADS = 50;
+    private static final int REQUESTS = 2_000;
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private PrescriptionRepository blockingRepository;
+
+    @Autowired
+    private ReactivePrescriptionRepository reactiveRepository;
+
+    private PrescriptionService blockingService;
+    private ReactivePrescriptionService reactiveService;
+
+    @BeforeEach
+    void setUp() {
+        blockingRepository.deleteAll();
+
+        // Appointments live in JPA, which is not part of this comparison
+        AppointmentService appointmentService = mock(AppointmentService.class);
+        when(appointmentService.changeStatus(anyLong(), anyInt())).thenReturn(ResponseEntity.ok().build());
+
+        // Every request uses a different appointment ID, so the lookup cache never answers
+        blockingService = new PrescriptionService(blockingRepository, new ObjectMapper(), 10_000, 10, 500);
+        reactiveService = new ReactivePrescriptionService(reactiveRepository, blockingService, appointmentService);
+    }
+
+    @Test
+    void reads() throws Exception {
+        blockingRepository.insert(LongStream.range(0, 4L * REQUESTS).mapToObj(PrescriptionPathBenchmarkTest::prescription).toList());
+
+        runBlocking(0, id -> blockingService.getPrescription(id));
+        long blocking = runBlocking(REQUESTS, id -> blockingService.getPrescription(id));
+        runReactive(2L * REQUESTS, id -> reactiveService.getPrescription(id));
+        long reactive = runReactive(3L * REQUESTS, id -> reactiveService.getPrescription(id));
+        report("reads", blocking, reactive);
+    }
+
+    @Test
+    void writes() throws Exception {
+        runBlocking(0, id -> blockingService.savePrescription(prescription(id)));
+        long blocking = runBlocking(REQUESTS, id -> blockingService.savePrescription(prescription(id)));
+        runReactive(2L * REQUESTS, id -> reactiveService.savePrescription(prescription(id)));
+        long reactive = runReactive(3L * REQUESTS, id -> reactiveService.savePrescription(prescription(id)));
+        report("writes", blocking, reactive);
+    }
+
+    // Appointment IDs firstId.. on a fixed worker pool; returns elapsed nanos
+    private long runBlocking(long firstId, LongFunction<ResponseEntity<?>> request) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                long id = firstId + i;
+                futures.add(workers.submit(() -> {
+                    if (request.apply(id).getStatusCode().is2xxSuccessful()) {
+                        succeeded.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertEquals(REQUESTS, succeeded.get());
+        return elapsed;
+    }
+
+    // Appointment IDs firstId.., all in flight at once; returns elapsed nanos
+    private long runReactive(long firstId, LongFunction<Mono<ResponseEntity<?>>> request) {
+        AtomicInteger succeeded = new AtomicInteger();
+        long start = System.nanoTime();
+        Flux.range(0, REQUESTS)
+            .flatMap(i -> request.apply(firstId + i).map(response -> {
+                if (response.getStatusCode().is2xxSuccessful()) {
+                    succeeded.incrementAndGet();
+                }
+                return response;
+            }), REQUESTS)
+            .then()
+            .block(Duration.ofMinutes(1));
+        long elapsed = System.nanoTime() - start;
+        assertEquals(REQUESTS, succeeded.get());
+        return elapsed;
+    }
+
+    private static void report(String operation, long blockingNanos, long reactiveNanos) {
+        logger.info("Prescription {}, {} requests: blocking ({} threads) {} req/s, reactive {} req/s",
+                    operation, REQUESTS, WORKER_THREADS,
+                    Math.round(REQUESTS * 1e9 / blockingNanos), Math.round(REQUESTS * 1e9 / reactiveNanos));
+    }
+
+    private static Prescription prescription(long appointmentId) {
+        return new Prescription("Patient " + appointmentId, appointmentId, "Amoxicillin", "500 mg", null);
+    }
+}
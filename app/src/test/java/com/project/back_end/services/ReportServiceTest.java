@@ -0,0 +1,141 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.config.AppointmentRows;
+import com.project.back_end.config.JpaSliceTestConfig;
+import com.project.back_end.models.AvailableTime;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.AppointmentReportRepository;
+import com.project.back_end.repo.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The streamed daily report: one half-open day across the hot and archive tables, ordered by doctor,
+ * written as RFC 4180 CSV or a JSON array, and 400 for requests it can't serve.
+ */
+@DataJpaTest(properties = "spring.data.mongodb.auto-index-creation=false")
+@Import({JpaSliceTestConfig.class, AppointmentRows.class, AppointmentReportRepository.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ReportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentRows appointmentRows;
+
+    @Autowired
+    private AppointmentReportRepository appointmentReportRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    // The application's mapper, so rows are written as in production
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        Doctor quoted = entityManager.persist(new Doctor("Dr. \"Doc\" Adams, Jr.", "Cardiology", "adams@clinic.test",
+                                                         "password1", "5550000000", new ArrayList<AvailableTime>()));
+        Doctor plain = entityManager.persist(new Doctor("Dr. Bob Baker", "Dermatology", "baker@clinic.test",
+                                                        "password1", "5550000001", new ArrayList<AvailableTime>()));
+        Patient multiline = entityManager.persist(new Patient("Pat\r\nNewline", "multiline@clinic.test", "password1",
+                                                              "5550000002", "1 Main Street"));
+        Patient patient = entityManager.persist(new Patient("Pat Plain", "plain@clinic.test", "password1",
+                                                            "5550000003", "2 Main Street"));
+        entityManager.flush();
+
+        long id = AppointmentRows.FIRST_ID;
+        // Both ends of the day, and the instants just outside it
+        appointmentRows.insert(++id, plain, patient, DAY.atStartOfDay(), 0);
+        appointmentRows.insert(++id, plain, patient, DAY.atTime(23, 59, 59), 0);
+        appointmentRows.insert(++id, plain, patient, DAY.minusDays(1).atTime(23, 59, 59), 1);
+        appointmentRows.insert(++id, plain, patient, DAY.plusDays(1).atStartOfDay(), 0);
+        appointmentRows.insert(++id, quoted, multiline, DAY.atTime(9, 0), 0);
+        // Archived rows of the day are reported, those of other days are not
+        appointmentRows.archive(++id, quoted, patient, DAY.atTime(8, 0), 1);
+        appointmentRows.archive(++id, quoted, patient, DAY.minusDays(1).atTime(8, 0), 1);
+
+        reportService = new ReportService(appointmentReportRepository, doctorRepository,
+                                          mock(DoctorPatientRollup.class), objectMapper);
+    }
+
+    @Test
+    void csvQuotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        ResponseEntity<?> response = reportService.getDailyAppointmentReport(DAY.toString(), "CSV");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertEquals("doctor_name,appointment_time,status,patient_name,patient_phone\r\n" +
+                     "\"Dr. \"\"Doc\"\" Adams, Jr.\",2025-03-14 08:00:00,1,Pat Plain,5550000003\r\n" +
+                     "\"Dr. \"\"Doc\"\" Adams, Jr.\",2025-03-14 09:00:00,0,\"Pat\r\nNewline\",5550000002\r\n" +
+                     "Dr. Bob Baker,2025-03-14 00:00:00,0,Pat Plain,5550000003\r\n" +
+                     "Dr. Bob Baker,2025-03-14 23:59:59,0,Pat Plain,5550000003\r\n",
+                     body(response));
+    }
+
+    @Test
+    void jsonIsAnArrayOfTheDaysRowsAcrossBothTables() throws IOException {
+        ResponseEntity<?> response = reportService.getDailyAppointmentReport(DAY.toString(), "json");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        JsonNode rows = objectMapper.readTree(body(response));
+        assertEquals(4, rows.size());
+        assertEquals("Dr. \"Doc\" Adams, Jr.", rows.get(0).get("doctorName").asText());
+        assertEquals("2025-03-14T08:00:00", rows.get(0).get("appointmentTime").asText());
+        assertEquals(1, rows.get(0).get("status").asInt());
+        assertEquals("Pat\r\nNewline", rows.get(1).get("patientName").asText());
+        assertEquals("2025-03-14T00:00:00", rows.get(2).get("appointmentTime").asText());
+        assertEquals("2025-03-14T23:59:59", rows.get(3).get("appointmentTime").asText());
+    }
+
+    @Test
+    void emptyDaysAreAnEmptyReport() throws IOException {
+        String otherDay = DAY.plusDays(7).toString();
+
+        assertEquals("[]", body(reportService.getDailyAppointmentReport(otherDay, "json")));
+        assertEquals("doctor_name,appointment_time,status,patient_name,patient_phone\r\n",
+                     body(reportService.getDailyAppointmentReport(otherDay, "csv")));
+    }
+
+    @Test
+    void invalidDatesAndFormatsAreBadRequests() {
+        assertEquals(HttpStatus.BAD_REQUEST, reportService.getDailyAppointmentReport("2025-02-30", "json").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, reportService.getDailyAppointmentReport("14-03-2025", "csv").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, reportService.getDailyAppointmentReport(DAY.toString(), "xml").getStatusCode());
+    }
+
+    private static String body(ResponseEntity<?> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.services.AppointmentService;
+import com.project.back_end.services.AppointmentSlotIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict checking when booking: the full bookAppointment path (doctor lock, transaction,
+ * entity lookups, in-memory and database conflict checks) for a slot that overlaps an
+ * existing booking, and the in-memory slot index check on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppointmentBookingBenchmark {
+
+    private AppointmentService appointmentService;
+    private AppointmentSlotIndex slotIndex;
+    private List<Doctor> doctors;
+    private List<Patient> patients;
+    private int[] firstFutureSlots;
+    private ClinicDataGenerator.Seeded seeded;
+
+    @Setup(Level.Trial)
+    public void setUp(ClinicState clinic) {
+        appointmentService = clinic.bean(AppointmentService.class);
+        slotIndex = clinic.bean(AppointmentSlotIndex.class);
+        // In ID order, so a doctor's position is its doctor number in the generated data
+        doctors = clinic.bean(DoctorRepository.class).findAll();
+        doctors.sort(Comparator.comparing(Doctor::getId));
+        patients = clinic.bean(PatientRepository.class).findAll();
+        seeded = clinic.seeded;
+        firstFutureSlots = new int[seeded.doctors()];
+        for (int doctor = 0; doctor < seeded.doctors(); doctor++) {
+            firstFutureSlots[doctor] = seeded.firstFutureSlot(doctor);
+        }
+    }
+
+    @Benchmark
+    public int bookConflictingSlot() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int doctor = random.nextInt(seeded.doctors());
+        Patient patient = patients.get(random.nextInt(patients.size()));
+        // 15 minutes into a booked hour, so it is always rejected and nothing is written
+        LocalDateTime time = futureBookedTime(random, doctor).plusMinutes(15);
+        return appointmentService.bookAppointment(new Appointment(doctors.get(doctor), patient, time, 0));
+    }
+
+    @Benchmark
+    public boolean checkSlotIndex() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int doctor = random.nextInt(seeded.doctors());
+        LocalDateTime time = futureBookedTime(random, doctor).plusMinutes(15);
+        return slotIndex.hasConflict(seeded.firstDoctorId() + doctor, time.minusMinutes(30), time.plusMinutes(90), null);
+    }
+
+    private LocalDateTime futureBookedTime(ThreadLocalRandom random, int doctor) {
+        return seeded.bookedTime(doctor, random.nextInt(firstFutureSlots[doctor], seeded.appointmentsPerDoctor()));
+    }
+}
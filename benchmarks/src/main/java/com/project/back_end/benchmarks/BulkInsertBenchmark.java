@@ -0,0 +1,110 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Insert throughput through Hibernate, in rows per second: appointments (bulk booking) and patients (imports),
+ * persisted in one transaction per invocation with sequence IDs.
+ * jdbcBatchSize=1 sends one statement per row, the round trips IDENTITY IDs forced on every insert;
+ * jdbcBatchSize=50 is the configured hibernate.jdbc.batch_size.
+ * The rows of each iteration are deleted after it, so every iteration inserts into tables of the seeded size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private ClinicDataGenerator.Seeded seeded;
+    // Appointments go into hourly slots far past the generated ones, so the unique (doctor, time) never conflicts
+    private final LocalDateTime firstSlot = LocalDateTime.now().plusYears(50).withMinute(0).withSecond(0).withNano(0);
+    private long nextSlot;
+    private long nextPatient;
+
+    @Setup(Level.Trial)
+    public void setUp(ClinicState clinic) {
+        entityManagerFactory = clinic.bean(EntityManagerFactory.class);
+        jdbcTemplate = clinic.bean(JdbcTemplate.class);
+        seeded = clinic.seeded;
+    }
+
+    // Imported patients have no appointments, so the two deletes are independent
+    @TearDown(Level.Iteration)
+    public void deleteInsertedRows() {
+        jdbcTemplate.update("DELETE FROM appointment WHERE appointment_time >= ?", Timestamp.valueOf(firstSlot));
+        jdbcTemplate.update("DELETE FROM patient WHERE id >= ?", seeded.firstPatientId() + seeded.patients());
+        nextSlot = 0;
+        nextPatient = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertAppointments() {
+        inTransaction(entityManager -> {
+            for (int i = 0; i < ROWS; i++) {
+                long slot = nextSlot++;
+                Doctor doctor = entityManager.getReference(Doctor.class, seeded.firstDoctorId() + slot % seeded.doctors());
+                Patient patient = entityManager.getReference(Patient.class, seeded.firstPatientId() + slot % seeded.patients());
+                entityManager.persist(new Appointment(doctor, patient, firstSlot.plusHours(slot / seeded.doctors()), 0));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertPatients() {
+        inTransaction(entityManager -> {
+            for (int i = 0; i < ROWS; i++) {
+                long n = nextPatient++;
+                entityManager.persist(new Patient("Imported " + n, "import" + n + "@clinic.test", "password1",
+                                                  String.format("%010d", 5_560_000_000L + n), n + " Import Street"));
+            }
+        });
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            entityManager.getTransaction().begin();
+            work.accept(entityManager);
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.models.Prescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Seeds doctors, their weekly schedules, patients and appointments through JDBC batches,
+ * and optionally prescriptions for completed appointments in Mongo.
+ * Output only depends on the volumes and the seed, so runs are reproducible.
+ * A third of the doctors work mornings, a third afternoons and the rest both, Monday to Saturday.
+ * Every doctor is fully booked at the top of each hour of their own shift over a window around today:
+ * earlier appointments are completed, later ones scheduled.
+ * Rows are streamed in batches, so volumes are bounded by the database rather than the heap.
+ * IDs are assigned here, consecutively after the existing rows; the ID sequences are moved past them afterwards.
+ */
+public class ClinicDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClinicDataGenerator.class);
+
+    static final String[] SPECIALTIES = {
+        "Cardiology", "Dermatology", "Neurology", "Pediatrics", "Orthopedics",
+        "Psychiatry", "Oncology", "Ophthalmology", "Gastroenterology", "Endocrinology"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Ava", "Ben", "Chloe", "David", "Emma", "Farid", "Grace", "Hiro", "Isla", "Jonas",
+        "Kira", "Liam", "Maya", "Noah", "Olga", "Pedro", "Quinn", "Rosa", "Sam", "Tara"
+    };
+    private static final String[] LAST_NAMES = {
+        "Adams", "Brown", "Chen", "Diaz", "Evans", "Fischer", "Garcia", "Haddad", "Ito", "Jones",
+        "Kumar", "Lopez", "Muller", "Nguyen", "Okafor", "Patel", "Rossi", "Smith", "Tanaka", "Wong"
+    };
+
+    private static final String[] MEDICATIONS = {
+        "Amoxicillin", "Ibuprofen", "Metformin", "Lisinopril", "Atorvastatin", "Omeprazole", "Sertraline", "Albuterol"
+    };
+
+    // Booked hours of each shift (doctor number % 3): mornings 9-12, afternoons 13-17, or both
+    private static final int[][] SHIFT_HOURS = {{9, 10, 11}, {13, 14, 15, 16}, {9, 10, 11, 13, 14, 15, 16}};
+    private static final int WORKING_DAYS_PER_WEEK = 6;
+    private static final int BATCH_SIZE = 1_000;
+    private static final long PROGRESS_EVERY = 1_000_000;
+    private static final String[] ID_TABLES = {"doctor", "available_time", "patient", "appointment"};
+
+    private final JdbcTemplate jdbc;
+    private final MongoTemplate mongo;
+    private final Volumes volumes;
+
+    public ClinicDataGenerator(JdbcTemplate jdbc, Volumes volumes) {
+        this(jdbc, null, volumes);
+    }
+
+    /**
+     * @param jdbc the relational database
+     * @param mongo the prescription store; required when volumes.prescriptionRatio() is above 0
+     * @param volumes how much to generate
+     */
+    public ClinicDataGenerator(JdbcTemplate jdbc, MongoTemplate mongo, Volumes volumes) {
+        if (volumes.prescriptionRatio() > 0 && mongo == null) {
+            throw new IllegalArgumentException("Generating prescriptions needs a MongoTemplate");
+        }
+        this.jdbc = jdbc;
+        this.mongo = mongo;
+        this.volumes = volumes;
+    }
+
+    /**
+     * How much data to generate
+     * @param doctors number of doctors
+     * @param patients number of patients
+     * @param appointmentsPerDoctor appointments booked for every doctor
+     * @param prescriptionRatio share of completed appointments that get a prescription, from 0 to 1
+     * @param seed random seed
+     */
+    public record Volumes(int doctors, int patients, int appointmentsPerDoctor, double prescriptionRatio, long seed) {}
+
+    /**
+     * Insert the data; the tables are expected to be empty or to only grow through this generator
+     * @return where the generated rows ended up
+     */
+    public Seeded generate() {
+        Random random = new Random(volumes.seed());
+        long firstDoctorId = nextId("doctor");
+        long firstPatientId = nextId("patient");
+        long firstAppointmentId = nextId("appointment");
+        // Centred for the doctors working both shifts; the others' slots reach further ahead
+        int workingDays = (volumes.appointmentsPerDoctor() + SHIFT_HOURS[2].length - 1) / SHIFT_HOURS[2].length;
+        LocalDate firstDay = LocalDate.now().minusDays(workingDays * 7L / WORKING_DAYS_PER_WEEK / 2);
+        if (firstDay.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            firstDay = firstDay.plusDays(1);
+        }
+        Seeded seeded = new Seeded(firstDoctorId, volumes.doctors(), firstPatientId, volumes.patients(),
+                                   firstAppointmentId, volumes.appointmentsPerDoctor(), firstDay);
+
+        insertDoctors(random, seeded);
+        insertPatients(seeded);
+        insertAppointments(random, seeded);
+        advanceSequences();
+        logger.info("Generated {} doctors, {} patients and {} appointments", volumes.doctors(), volumes.patients(),
+                (long) volumes.doctors() * volumes.appointmentsPerDoctor());
+        return seeded;
+    }
+
+    private void insertDoctors(Random random, Seeded seeded) {
+        String doctorSql = "INSERT INTO doctor (id, name, specialty, email, password, phone) VALUES (?, ?, ?, ?, ?, ?)";
+        List<Object[]> doctors = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < seeded.doctors(); i++) {
+            doctors.add(new Object[] {seeded.firstDoctorId() + i, "Dr. " + name(i), SPECIALTIES[random.nextInt(SPECIALTIES.length)],
+                                      doctorEmail(i), "password1", phone(i)});
+            flushIfFull(doctorSql, doctors);
+        }
+        flush(doctorSql, doctors);
+
+        String rangeSql = "INSERT INTO available_time (id, doctor_id, day_of_week, start_time, end_time) VALUES (?, ?, ?, ?, ?)";
+        List<Object[]> ranges = new ArrayList<>(BATCH_SIZE);
+        long rangeId = nextId("available_time");
+        for (int i = 0; i < seeded.doctors(); i++) {
+            int shift = Seeded.shift(i);
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (day == DayOfWeek.SUNDAY) {
+                    continue;
+                }
+                if (shift != 1) {
+                    ranges.add(range(rangeId++, seeded.firstDoctorId() + i, day, 9, 12));
+                }
+                if (shift != 0) {
+                    ranges.add(range(rangeId++, seeded.firstDoctorId() + i, day, 13, 17));
+                }
+                flushIfFull(rangeSql, ranges);
+            }
+        }
+        flush(rangeSql, ranges);
+    }
+
+    private void insertPatients(Seeded seeded) {
+        String sql = "INSERT INTO patient (id, name, email, password, phone, address) VALUES (?, ?, ?, ?, ?, ?)";
+        List<Object[]> patients = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < seeded.patients(); i++) {
+            patients.add(new Object[] {seeded.firstPatientId() + i, name(i), patientEmail(i), "password1", phone(i),
+                                       (i + 1) + " Main Street"});
+            flushIfFull(sql, patients);
+            progress("patients", i + 1);
+        }
+        flush(sql, patients);
+    }
+
+    private void insertAppointments(Random random, Seeded seeded) {
+        String sql = "INSERT INTO appointment (id, doctor_id, patient_id, appointment_time, status) VALUES (?, ?, ?, ?, ?)";
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> appointments = new ArrayList<>(BATCH_SIZE);
+        List<Prescription> prescriptions = new ArrayList<>(BATCH_SIZE);
+        long inserted = 0;
+        for (int doctor = 0; doctor < seeded.doctors(); doctor++) {
+            for (int slot = 0; slot < seeded.appointmentsPerDoctor(); slot++) {
+                LocalDateTime time = seeded.bookedTime(doctor, slot);
+                int patient = random.nextInt(seeded.patients());
+                boolean completed = time.isBefore(now);
+                appointments.add(new Object[] {seeded.appointmentId(doctor, slot), seeded.firstDoctorId() + doctor,
+                                               seeded.firstPatientId() + patient, Timestamp.valueOf(time), completed ? 1 : 0});
+                if (completed && random.nextDouble() < volumes.prescriptionRatio()) {
+                    prescriptions.add(new Prescription(name(patient), seeded.appointmentId(doctor, slot),
+                            MEDICATIONS[random.nextInt(MEDICATIONS.length)], (1 + random.nextInt(3)) * 250 + " mg", null));
+                }
+                flushIfFull(sql, appointments);
+                if (prescriptions.size() >= BATCH_SIZE) {
+                    // Appointments first, so every prescription refers to a stored appointment
+                    flush(sql, appointments);
+                    mongo.insert(prescriptions, Prescription.class);
+                    prescriptions.clear();
+                }
+                progress("appointments", ++inserted);
+            }
+        }
+        flush(sql, appointments);
+        if (!prescriptions.isEmpty()) {
+            mongo.insert(prescriptions, Prescription.class);
+        }
+    }
+
+    // Rows are inserted with IDs assigned here, so move the sequences past them for the application's inserts
+    private void advanceSequences() {
+        boolean mysql = jdbc.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql"));
+        for (String table : ID_TABLES) {
+            long next = nextId(table);
+            jdbc.update(mysql ? "UPDATE " + table + "_seq SET next_val = " + next
+                              : "ALTER SEQUENCE " + table + "_seq RESTART WITH " + next);
+        }
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return maxId + 1;
+    }
+
+    private static void progress(String rows, long count) {
+        if (count % PROGRESS_EVERY == 0) {
+            logger.info("Generated {} {}", count, rows);
+        }
+    }
+
+    private void flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() >= BATCH_SIZE) {
+            flush(sql, rows);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private static Object[] range(long id, long doctorId, DayOfWeek day, int startHour, int endHour) {
+        return new Object[] {id, doctorId, day.name(), Time.valueOf(LocalTime.of(startHour, 0)), Time.valueOf(LocalTime.of(endHour, 0))};
+    }
+
+    private static String name(int i) {
+        return FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + " " + i;
+    }
+
+    private static String phone(int i) {
+        return String.format("%010d", 5_550_000_000L + i);
+    }
+
+    static String doctorEmail(int i) {
+        return "doctor" + i + "@clinic.test";
+    }
+
+    static String patientEmail(int i) {
+        return "patient" + i + "@clinic.test";
+    }
+
+    /**
+     * Where the generated rows are; doctors, patients and appointments have consecutive IDs,
+     * with appointments ordered by doctor, then slot
+     * @param firstDoctorId ID of the first generated doctor
+     * @param doctors number of generated doctors
+     * @param firstPatientId ID of the first generated patient
+     * @param patients number of generated patients
+     * @param firstAppointmentId ID of the first generated appointment
+     * @param appointmentsPerDoctor appointments booked for every doctor
+     * @param firstDay the day of the first appointment slots, never a Sunday
+     */
+    public record Seeded(long firstDoctorId, int doctors, long firstPatientId, int patients,
+                         long firstAppointmentId, int appointmentsPerDoctor, LocalDate firstDay) {
+
+        /**
+         * Describe data generated earlier, e.g. by GenerateClinicData into an otherwise empty database
+         * @param jdbc the database
+         * @return the layout of the generated rows
+         */
+        public static Seeded read(JdbcTemplate jdbc) {
+            return jdbc.queryForObject(
+                "SELECT (SELECT MIN(id) FROM doctor), (SELECT COUNT(*) FROM doctor), " +
+                "(SELECT MIN(id) FROM patient), (SELECT COUNT(*) FROM patient), " +
+                "(SELECT MIN(id) FROM appointment), (SELECT COUNT(*) FROM appointment), " +
+                "(SELECT MIN(appointment_time) FROM appointment)",
+                (rs, row) -> {
+                    int doctors = rs.getInt(2);
+                    return new Seeded(rs.getLong(1), doctors, rs.getLong(3), rs.getInt(4), rs.getLong(5),
+                                      (int) (rs.getLong(6) / doctors), rs.getTimestamp(7).toLocalDateTime().toLocalDate());
+                });
+        }
+
+        /**
+         * @param doctor doctor number, from 0 to doctors - 1
+         * @return the doctor's shift: 0 for mornings, 1 for afternoons, 2 for both
+         */
+        public static int shift(int doctor) {
+            return doctor % SHIFT_HOURS.length;
+        }
+
+        /**
+         * @param doctor doctor number, from 0 to doctors - 1
+         * @param slot slot number, from 0 to appointmentsPerDoctor - 1
+         * @return the start time of that doctor's slot; slots fill the doctor's shift hours, Monday to Saturday
+         */
+        public LocalDateTime bookedTime(int doctor, int slot) {
+            int[] hours = SHIFT_HOURS[shift(doctor)];
+            // Working days counted from the Monday of the first week, which skips every Sunday
+            int workingDay = firstDay.getDayOfWeek().ordinal() + slot / hours.length;
+            LocalDate day = firstDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .plusWeeks(workingDay / WORKING_DAYS_PER_WEEK).plusDays(workingDay % WORKING_DAYS_PER_WEEK);
+            return day.atTime(hours[slot % hours.length], 0);
+        }
+
+        /**
+         * @param doctor doctor number, from 0 to doctors - 1
+         * @param slot slot number, from 0 to appointmentsPerDoctor - 1
+         * @return the ID of that doctor's appointment in that slot
+         */
+        public long appointmentId(int doctor, int slot) {
+            return firstAppointmentId + (long) doctor * appointmentsPerDoctor + slot;
+        }
+
+        /**
+         * @return the last day with booked slots, reached by the doctors with the shortest shift
+         */
+        public LocalDate lastDay() {
+            LocalDate last = firstDay;
+            for (int doctor = 0; doctor < Math.min(doctors, SHIFT_HOURS.length); doctor++) {
+                LocalDate doctorLast = bookedTime(doctor, appointmentsPerDoctor - 1).toLocalDate();
+                if (doctorLast.isAfter(last)) {
+                    last = doctorLast;
+                }
+            }
+            return last;
+        }
+
+        /**
+         * @param doctor doctor number, from 0 to doctors - 1
+         * @return the doctor's first slot that starts after now, or the last slot if none does
+         */
+        public int firstFutureSlot(int doctor) {
+            LocalDateTime now = LocalDateTime.now();
+            // Slot times increase with the slot number
+            int low = 0;
+            int high = appointmentsPerDoctor - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (bookedTime(doctor, middle).isAfter(now)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.BackEndApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The application context on an in-memory H2 database, seeded by ClinicDataGenerator.
+ * Data is inserted once the schema exists but before the application is ready,
+ * so the in-memory indexes warm up over the generated rows like they would in production.
+ */
+@State(Scope.Benchmark)
+public class ClinicState {
+
+    @Param("500")
+    public int doctors;
+
+    @Param("5000")
+    public int patients;
+
+    @Param("40")
+    public int appointmentsPerDoctor;
+
+    public ConfigurableApplicationContext context;
+    public ClinicDataGenerator.Seeded seeded;
+
+    @Setup(Level.Trial)
+    public void start() {
+        ClinicDataGenerator.Volumes volumes = new ClinicDataGenerator.Volumes(doctors, patients, appointmentsPerDoctor, 0.0, 42L);
+        context = new SpringApplicationBuilder(BackEndApplication.class)
+            .web(WebApplicationType.NONE)
+            .listeners((ApplicationListener<ApplicationEvent>) event -> {
+                if (event instanceof ApplicationStartedEvent started) {
+                    JdbcTemplate jdbc = started.getApplicationContext().getBean(JdbcTemplate.class);
+                    seeded = new ClinicDataGenerator(jdbc, volumes).generate();
+                }
+            })
+            // Arguments rather than builder properties, which application.properties would override.
+            // Without index creation the Mongo client never connects, so no Mongo is needed.
+            .run("--spring.datasource.url=jdbc:h2:mem:benchmarks",
+                 "--spring.jpa.show-sql=false",
+                 "--spring.data.mongodb.auto-index-creation=false",
+                 "--logging.level.root=WARN");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.services.DoctorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doctor filtering by AM/PM availability, as used by the patient dashboard
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DoctorSearchBenchmark {
+
+    @Param({"AM", "PM"})
+    public String time;
+
+    private DoctorService doctorService;
+
+    @Setup(Level.Trial)
+    public void setUp(ClinicState clinic) {
+        doctorService = clinic.bean(DoctorService.class);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> filterDoctorsByTime() {
+        return doctorService.filterDoctorsByTime(time);
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.back_end.benchmarks;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fill a database with synthetic clinic data at production scale, e.g. for LoadScenario or query plan checks.
+ * Only the schema is created (by the Flyway migrations) and none of the application's services start,
+ * so nothing is loaded into memory while generating.
+ * Volumes come from clinic.* properties, for example:
+ * <pre>
+ * --spring.datasource.url=jdbc:mysql://localhost:3306/cms --clinic.doctors=5000 --clinic.patients=2000000
+ * --clinic.appointments-per-doctor=10000 --clinic.prescription-ratio=0.3
+ * </pre>
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.project.back_end.models")
+public class GenerateClinicData {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerateClinicData.class);
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GenerateClinicData.class)
+                .web(WebApplicationType.NONE)
+                .run(withDefaults(args, "--spring.jpa.show-sql=false"))) {
+            ClinicDataGenerator.Seeded seeded = generate(context);
+            logger.info("Doctors {}-{}, patients {}-{}, appointments {}-{}, slots from {}",
+                    seeded.firstDoctorId(), seeded.firstDoctorId() + seeded.doctors() - 1,
+                    seeded.firstPatientId(), seeded.firstPatientId() + seeded.patients() - 1,
+                    seeded.firstAppointmentId(), seeded.appointmentId(seeded.doctors() - 1, seeded.appointmentsPerDoctor() - 1),
+                    seeded.firstDay());
+        }
+    }
+
+    /**
+     * Add default command-line arguments for the options not given in args.
+     * Defaults go through the command line because application.properties overrides builder default properties;
+     * an option given twice would be bound as a list, so given options are left alone.
+     * @param args the program arguments
+     * @param defaults default arguments, as --name=value
+     * @return args followed by the defaults they don't set
+     */
+    static String[] withDefaults(String[] args, String... defaults) {
+        List<String> all = new ArrayList<>(Arrays.asList(args));
+        for (String option : defaults) {
+            String name = option.substring(0, option.indexOf('=') + 1);
+            if (all.stream().noneMatch(arg -> arg.startsWith(name))) {
+                all.add(option);
+            }
+        }
+        return all.toArray(String[]::new);
+    }
+
+    /**
+     * Generate the volumes configured in the context's clinic.* properties
+     * @param context a started context with a JdbcTemplate, and a MongoTemplate when prescriptions are generated
+     * @return where the generated rows ended up
+     */
+    static ClinicDataGenerator.Seeded generate(ConfigurableApplicationContext context) {
+        Environment env = context.getEnvironment();
+        ClinicDataGenerator.Volumes volumes = new ClinicDataGenerator.Volumes(
+                env.getProperty("clinic.doctors", Integer.class, 5_000),
+                env.getProperty("clinic.patients", Integer.class, 2_000_000),
+                env.getProperty("clinic.appointments-per-doctor", Integer.class, 10_000),
+                env.getProperty("clinic.prescription-ratio", Double.class, 0.3),
+                env.getProperty("clinic.seed", Long.class, 42L));
+        ObjectProvider<MongoTemplate> mongo = context.getBeanProvider(MongoTemplate.class);
+        return new ClinicDataGenerator(context.getBean(JdbcTemplate.class), mongo.getIfAvailable(), volumes).generate();
+    }
+}
@@ -0,0 +1,254 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.BackEndApplication;
+import com.project.back_end.services.TokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reproducible mixed-traffic load test against the running application.
+ * The application starts in-process on a random port, over data generated by ClinicDataGenerator
+ * (or generated earlier by GenerateClinicData when clinic.generate=false), then clinic.load.users virtual users
+ * each send clinic.load.requests-per-user requests drawn from a seeded mix of the main endpoints.
+ * Tokens are minted by the application's TokenService for the generated users, so no login round trip is needed.
+ * Logs throughput, latency percentiles and response status classes per endpoint.
+ */
+public class LoadScenario {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadScenario.class);
+
+    // In-process runs default to a volume that generates in seconds; pass clinic.* arguments to scale up
+    private static final String[] DEFAULTS = {
+        "--server.port=0", "--spring.jpa.show-sql=false",
+        "--logging.level.root=WARN", "--logging.level.com.project.back_end.benchmarks=INFO",
+        "--clinic.doctors=500", "--clinic.patients=50000", "--clinic.appointments-per-doctor=400"
+    };
+
+    // Share of requests per endpoint, out of 100
+    enum Endpoint {
+        DASHBOARD_REFRESH(40),
+        DOCTOR_SEARCH(30),
+        BOOKING(20),
+        PRESCRIPTION_WRITE(10);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+
+        static Endpoint pick(Random random) {
+            int roll = random.nextInt(100);
+            for (Endpoint endpoint : values()) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalStateException("Weights must add up to 100");
+        }
+    }
+
+    private final ClinicDataGenerator.Seeded seeded;
+    private final TokenService tokenService;
+    private final String baseUrl;
+    private final long seed;
+    private final int users;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+
+    LoadScenario(ClinicDataGenerator.Seeded seeded, TokenService tokenService, String baseUrl, long seed, int users) {
+        this.seeded = seeded;
+        this.tokenService = tokenService;
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+        this.users = users;
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ClinicDataGenerator.Seeded[] generated = new ClinicDataGenerator.Seeded[1];
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackEndApplication.class)
+                .listeners((ApplicationListener<ApplicationEvent>) event -> {
+                    // Before the application is ready, so its in-memory indexes warm up over the generated rows
+                    if (event instanceof ApplicationStartedEvent started
+                            && started.getApplicationContext().getEnvironment().getProperty("clinic.generate", Boolean.class, true)) {
+                        generated[0] = GenerateClinicData.generate(started.getApplicationContext());
+                    }
+                })
+                .run(GenerateClinicData.withDefaults(args, DEFAULTS))) {
+            Environment env = context.getEnvironment();
+            ClinicDataGenerator.Seeded seeded = generated[0] != null
+                    ? generated[0]
+                    : ClinicDataGenerator.Seeded.read(context.getBean(JdbcTemplate.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadScenario scenario = new LoadScenario(seeded, context.getBean(TokenService.class),
+                    "http://localhost:" + port, env.getProperty("clinic.seed", Long.class, 42L),
+                    env.getProperty("clinic.load.users", Integer.class, 50));
+            scenario.run(env.getProperty("clinic.load.warm-up-requests", Integer.class, 20),
+                         env.getProperty("clinic.load.requests-per-user", Integer.class, 200));
+        }
+    }
+
+
+    /**
+     * Run the scenario and log the report
+     * @param warmUpRequests unrecorded requests per user before measuring
+     * @param requestsPerUser recorded requests per user
+     */
+    void run(int warmUpRequests, int requestsPerUser) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int user = 0; user < users; user++) {
+                int id = user;
+                futures.add(executor.submit(() -> {
+                    runUser(id, warmUpRequests, requestsPerUser);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            report(seconds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runUser(int user, int warmUpRequests, int requestsPerUser) throws Exception {
+        Random random = new Random(seed * 31 + user);
+        // Each user prescribes for its own appointments, so runs don't depend on thread timing
+        int[] writes = new int[] {user};
+        for (int i = 0; i < warmUpRequests + requestsPerUser; i++) {
+            Endpoint endpoint = Endpoint.pick(random);
+            HttpRequest request = request(endpoint, random, writes);
+            long started = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (i >= warmUpRequests) {
+                recorders.get(endpoint).record(System.nanoTime() - started, response.statusCode());
+            }
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint, Random random, int[] writes) {
+        int doctor = random.nextInt(seeded.doctors());
+        long doctorId = seeded.firstDoctorId() + doctor;
+        switch (endpoint) {
+            case DASHBOARD_REFRESH:
+                return get("/appointments/doctor/" + doctorId + "/" + token("doctor", doctor) + "?size=20");
+            case DOCTOR_SEARCH:
+                return get("/api/doctor/filter/null/" + (random.nextBoolean() ? "AM" : "PM") + "/"
+                        + ClinicDataGenerator.SPECIALTIES[random.nextInt(ClinicDataGenerator.SPECIALTIES.length)]);
+            case BOOKING: {
+                // Evenings are never generated, so only concurrent bookings can conflict
+                int patient = random.nextInt(seeded.patients());
+                LocalDate tomorrow = LocalDate.now().plusDays(1);
+                long days = Math.max(1, seeded.lastDay().toEpochDay() - tomorrow.toEpochDay() + 1);
+                String time = tomorrow.plusDays(random.nextInt((int) days)).atTime(18, 15 * random.nextInt(4)).toString();
+                return post("/appointments/book/" + token("patient", patient),
+                        "{\"doctor\":{\"id\":" + doctorId + "},\"patient\":{\"id\":" + (seeded.firstPatientId() + patient)
+                        + "},\"appointmentTime\":\"" + time + "\",\"status\":0}");
+            }
+            case PRESCRIPTION_WRITE: {
+                // The next scheduled appointment this user owns, doctor by doctor
+                int write = writes[0];
+                writes[0] += users;
+                int owner = write % seeded.doctors();
+                int slot = Math.min(seeded.firstFutureSlot(owner) + write / seeded.doctors(), seeded.appointmentsPerDoctor() - 1);
+                return post("/api/prescription/save/" + token("doctor", owner),
+                        "{\"patientName\":\"Load Test Patient\",\"appointmentId\":" + seeded.appointmentId(owner, slot)
+                        + ",\"medication\":\"Amoxicillin\",\"dosage\":\"500 mg\",\"doctorNotes\":\"Load test\"}");
+            }
+            default:
+                throw new IllegalArgumentException("Unknown endpoint " + endpoint);
+        }
+    }
+
+    private String token(String role, int index) {
+        return tokens.computeIfAbsent(role + index, key -> role.equals("doctor")
+                ? tokenService.generateToken(ClinicDataGenerator.doctorEmail(index), role, seeded.firstDoctorId() + index)
+                : tokenService.generateToken(ClinicDataGenerator.patientEmail(index), role, seeded.firstPatientId() + index));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private void report(double seconds) {
+        logger.info("{} users, {} s, {} doctors, {} patients, {} appointments", users, String.format("%.1f", seconds),
+                seeded.doctors(), seeded.patients(), (long) seeded.doctors() * seeded.appointmentsPerDoctor());
+        logger.info(String.format("%-20s %9s %9s %9s %9s %9s %9s %7s %7s %7s",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "2xx", "4xx", "5xx"));
+        recorders.forEach((endpoint, recorder) -> logger.info(recorder.line(endpoint.name(), seconds)));
+    }
+
+    // Latencies of one endpoint; every latency is kept so percentiles are exact
+    static final class LatencyRecorder {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private final int[] statusClasses = new int[6];
+
+        synchronized void record(long latencyNanos, int status) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latencyNanos;
+            statusClasses[Math.min(status / 100, 5)]++;
+        }
+
+        synchronized String line(String name, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return String.format("%-20s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d %7d", name, count, count / seconds,
+                    millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99), millis(sorted, 1.0),
+                    statusClasses[2], statusClasses[4], statusClasses[5]);
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.back_end.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.services.AppointmentService;
+import com.project.back_end.services.DoctorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing the response maps of the dashboard endpoints:
+ * a doctor's day of appointments and the full doctor list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMapBenchmark {
+
+    private AppointmentService appointmentService;
+    private DoctorService doctorService;
+    private ObjectMapper objectMapper;
+    private ClinicDataGenerator.Seeded seeded;
+
+    @Setup(Level.Trial)
+    public void setUp(ClinicState clinic) {
+        appointmentService = clinic.bean(AppointmentService.class);
+        doctorService = clinic.bean(DoctorService.class);
+        objectMapper = clinic.bean(ObjectMapper.class);
+        seeded = clinic.seeded;
+    }
+
+    @Benchmark
+    public byte[] doctorDayAppointments() throws JsonProcessingException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int doctor = random.nextInt(seeded.doctors());
+        String date = seeded.bookedTime(doctor, random.nextInt(seeded.appointmentsPerDoctor())).toLocalDate().toString();
+        return objectMapper.writeValueAsBytes(appointmentService.getAppointments(seeded.firstDoctorId() + doctor, date, null).getBody());
+    }
+
+    @Benchmark
+    public byte[] doctorList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(doctorService.getDoctors().getBody());
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.services.TokenService;
+import com.project.back_end.services.ValidationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation as done by every controller call, over a working set of logged-in doctors.
+ * Also measures issuing a token, which the first validation of a token has to verify from scratch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenValidationBenchmark {
+
+    private static final int LOGGED_IN_DOCTORS = 1_000;
+
+    private TokenService tokenService;
+    private ValidationService validationService;
+    private String[] tokens;
+    private ClinicDataGenerator.Seeded seeded;
+
+    @Setup(Level.Trial)
+    public void setUp(ClinicState clinic) {
+        tokenService = clinic.bean(TokenService.class);
+        validationService = clinic.bean(ValidationService.class);
+        seeded = clinic.seeded;
+        tokens = new String[Math.min(LOGGED_IN_DOCTORS, seeded.doctors())];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokenService.generateToken(ClinicDataGenerator.doctorEmail(i), "doctor", seeded.firstDoctorId() + i);
+        }
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return validationService.validateToken(tokens[ThreadLocalRandom.current().nextInt(tokens.length)], "doctor");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        int doctor = ThreadLocalRandom.current().nextInt(tokens.length);
+        return tokenService.generateToken(ClinicDataGenerator.doctorEmail(doctor), "doctor", seeded.firstDoctorId() + doctor);
+    }
+}